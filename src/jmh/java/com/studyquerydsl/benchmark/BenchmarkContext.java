@@ -0,0 +1,62 @@
+package com.studyquerydsl.benchmark;
+
+import com.studyquerydsl.StudyQuerydslApplication;
+import com.studyquerydsl.entity.Member;
+import com.studyquerydsl.entity.Team;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 벤치마크마다 스프링 컨텍스트(bench 프로파일, H2)를 띄우고 회원 데이터를 채운다.
+public final class BenchmarkContext {
+
+    public static final int TEAM_COUNT = 10;
+    private static final int FLUSH_SIZE = 1_000;
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start() {
+        return start(new String[0]);
+    }
+
+    // bench 에 프로파일을 더한다. (예: "local" -> local 전용 빈 사용)
+    public static ConfigurableApplicationContext start(String... extraProfiles) {
+        String[] profiles = new String[extraProfiles.length + 1];
+        profiles[0] = "bench";
+        System.arraycopy(extraProfiles, 0, profiles, 1, extraProfiles.length);
+        return new SpringApplicationBuilder(StudyQuerydslApplication.class)
+                .profiles(profiles)
+                .run();
+    }
+
+    // member0 ~ member{count-1}, 나이는 0 ~ 99, team0 ~ team9 에 순서대로 배정
+    public static void seed(ConfigurableApplicationContext context, int memberCount) {
+        EntityManager em = context.getBean(EntityManagerFactory.class).createEntityManager();
+        try {
+            em.getTransaction().begin();
+            List<Team> teams = new ArrayList<>();
+            for (int i = 0; i < TEAM_COUNT; i++) {
+                Team team = new Team("team" + i);
+                em.persist(team);
+                teams.add(team);
+            }
+            for (int i = 0; i < memberCount; i++) {
+                em.persist(new Member("member" + i, i % 100, teams.get(i % TEAM_COUNT)));
+                if ((i + 1) % FLUSH_SIZE == 0) {
+                    em.flush();
+                    em.clear();
+                    teams.replaceAll(team -> em.getReference(Team.class, team.getId()));
+                }
+            }
+            em.getTransaction().commit();
+        } finally {
+            em.close();
+        }
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.studyquerydsl.benchmark;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.studyquerydsl.entity.QMember.member;
+
+// 벌크 update(member) - 데이터가 바뀌지 않도록 매번 롤백한다.
+// chunk 단위로 커밋하는 경우는 ChunkedBulkUpdateBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BulkUpdateBenchmark {
+
+    @Param("10000")
+    int memberCount;
+
+    private ConfigurableApplicationContext context;
+    private JPAQueryFactory queryFactory;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.seed(context, memberCount);
+        queryFactory = context.getBean(JPAQueryFactory.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Long bulkAdd() {
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            return queryFactory
+                    .update(member)
+                    .set(member.age, member.age.add(1))
+                    .where(member.age.lt(50))
+                    .execute();
+        });
+    }
+
+    @Benchmark
+    public Long bulkRename() {
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            return queryFactory
+                    .update(member)
+                    .set(member.username, "비회원")
+                    .where(member.age.lt(28))
+                    .execute();
+        });
+    }
+
+}
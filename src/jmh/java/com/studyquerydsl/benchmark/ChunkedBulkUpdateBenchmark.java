@@ -0,0 +1,46 @@
+package com.studyquerydsl.benchmark;
+
+import com.studyquerydsl.service.MemberBulkOperations;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.studyquerydsl.entity.QMember.member;
+
+// MemberBulkOperations 로 chunk 마다 커밋하는 벌크 update. BulkUpdateBenchmark.bulkRename 과 달리 매 실행이 실제로 커밋되므로
+// 커밋 비용까지 포함된다. 같은 값으로 덮어쓰므로 반복해도 결과는 같다. chunkSize 파라미터는 이 벤치마크에만 적용된다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChunkedBulkUpdateBenchmark {
+
+    @Param("100000")
+    int memberCount;
+
+    @Param({"1000", "10000"})
+    int chunkSize;
+
+    private ConfigurableApplicationContext context;
+    private MemberBulkOperations bulkOperations;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.seed(context, memberCount);
+        bulkOperations = context.getBean(MemberBulkOperations.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // 결과: 처리한 row 수 (초당 처리량 = row 수 / 평균 시간)
+    @Benchmark
+    public long bulkRenameChunked() {
+        return bulkOperations.update(member.age.lt(28), update -> update.set(member.username, "비회원"), chunkSize)
+                .getTotalRows();
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.studyquerydsl.benchmark;
+
+import com.studyquerydsl.dto.MemberSearchCondition;
+import com.studyquerydsl.dto.MemberTeamDto;
+import com.studyquerydsl.repository.CountMode;
+import com.studyquerydsl.repository.MemberRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+// offset 페이징(searchPageComplex) vs 2단계 페이징(searchPageDeferred)
+// 깊은 페이지일수록, row 가 넓을수록(usernameLength) 1단계에서 건너뛰는 비용 차이가 커진다.
+// username 은 varchar(255) 이므로 usernameLength + 숫자 자리수가 그 안에 들어가야 한다.
+// count 는 CACHED 로 첫 호출 뒤 캐시에서 읽는다. EXACT 면 매번 도는 count(*) 가 본문 쿼리 차이를 가린다.
+// ./gradlew jmh -PjmhIncludes=DeferredJoin
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DeferredJoinBenchmark {
+
+    @Param("200000")
+    int memberCount;
+
+    @Param({"1", "5000"})
+    int page;
+
+    @Param({"10", "200"})
+    int usernameLength;
+
+    @Param("20")
+    int size;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private final MemberSearchCondition condition = new MemberSearchCondition();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("insert into team (id, name) select x, 'team' || x from system_range(1, ?)", BenchmarkContext.TEAM_COUNT);
+        jdbcTemplate.update("insert into member (member_id, username, age, team_id)" +
+                        " select x, repeat('x', ?) || x, mod(x, 100), mod(x, ?) + 1 from system_range(1, ?)",
+                usernameLength, BenchmarkContext.TEAM_COUNT, memberCount);
+        jdbcTemplate.execute("analyze");
+
+        memberRepository = context.getBean(MemberRepository.class);
+        condition.setAgeGoe(10);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<MemberTeamDto> offset() {
+        return memberRepository.searchPageComplex(condition, PageRequest.of(page - 1, size), CountMode.CACHED);
+    }
+
+    @Benchmark
+    public Page<MemberTeamDto> deferred() {
+        return memberRepository.searchPageDeferred(condition, PageRequest.of(page - 1, size), CountMode.CACHED);
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.studyquerydsl.benchmark;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.studyquerydsl.dto.MemberSearchCondition;
+import com.studyquerydsl.dto.MemberTeamDto;
+import com.studyquerydsl.dto.MemberTeamSlice;
+import com.studyquerydsl.repository.CountMode;
+import com.studyquerydsl.repository.MemberRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.studyquerydsl.entity.QMember.member;
+
+// offset 페이징(searchPageComplex) vs 커서 페이징(searchSlice) - 1 페이지와 10,000 페이지 비교
+// searchSlice 는 count 를 하지 않으므로 offset 쪽도 CACHED 로 첫 호출 뒤에는 본문 쿼리만 비교한다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class KeysetPagingBenchmark {
+
+    @Param({"1", "10000"})
+    int page;
+
+    @Param("20")
+    int size;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private final MemberSearchCondition condition = new MemberSearchCondition();
+    private String cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.seed(context, page * size + size);
+        memberRepository = context.getBean(MemberRepository.class);
+
+        // 커서 페이징은 직전 페이지의 마지막 id 를 커서로 받는다.
+        if (page > 1) {
+            Long lastId = context.getBean(JPAQueryFactory.class)
+                    .select(member.id)
+                    .from(member)
+                    .orderBy(member.id.asc())
+                    .offset((long) (page - 1) * size - 1)
+                    .limit(1)
+                    .fetchOne();
+            cursor = MemberTeamSlice.encodeCursor(lastId);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<MemberTeamDto> offset() {
+        return memberRepository.searchPageComplex(condition, PageRequest.of(page - 1, size), CountMode.CACHED);
+    }
+
+    @Benchmark
+    public MemberTeamSlice keyset() {
+        return memberRepository.searchSlice(condition, cursor, size);
+    }
+
+}
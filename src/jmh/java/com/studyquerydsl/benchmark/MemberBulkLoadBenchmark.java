@@ -0,0 +1,95 @@
+package com.studyquerydsl.benchmark;
+
+import com.studyquerydsl.entity.Member;
+import com.studyquerydsl.entity.Team;
+import com.studyquerydsl.repository.MemberBulkLoader;
+import com.studyquerydsl.repository.MemberBulkLoader.MemberRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// 회원 100만 건 등록: 평범한 persist (전역 hibernate.jdbc.batch_size, 주기적인 flush/clear)
+// vs MemberBulkLoader(세션 batch size 지정 + batch 마다 flush/clear)
+// batchSize 파라미터는 bulkLoad 에만 적용되므로 두 벤치마크의 @State 를 나눈다.
+// COPY 경로는 PostgreSQL 전용이라 H2 기반 벤치마크에서는 제외한다.
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+public class MemberBulkLoadBenchmark {
+
+    // 비교 기준의 flush/clear 주기 (MemberBulkLoader 기본 batch-size 와 같다)
+    private static final int PERSIST_FLUSH_INTERVAL = 1000;
+
+    public abstract static class Rows {
+
+        @Param("1000000")
+        int rows;
+
+        ConfigurableApplicationContext context;
+        List<MemberRow> memberRows;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            context = BenchmarkContext.start();
+            BenchmarkContext.seed(context, 0); // 팀만 생성
+
+            EntityManager em = context.getBean(EntityManagerFactory.class).createEntityManager();
+            List<Long> teamIds = em.createQuery("select t.id from Team t order by t.id", Long.class).getResultList();
+            em.close();
+
+            memberRows = new ArrayList<>(rows);
+            IntStream.range(0, rows).forEach(i ->
+                    memberRows.add(new MemberRow("member" + i, i % 100, teamIds.get(i % teamIds.size()))));
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class BulkLoadState extends Rows {
+
+        @Param({"100", "1000"})
+        int batchSize;
+    }
+
+    @State(Scope.Benchmark)
+    public static class PersistState extends Rows {
+    }
+
+    @Benchmark
+    public long bulkLoad(BulkLoadState state) {
+        return state.context.getBean(MemberBulkLoader.class).load(state.memberRows, state.batchSize);
+    }
+
+    // 비교 기준: 서비스 코드처럼 persist 만 하고, 영속성 컨텍스트가 커지지 않도록 일정 건수마다 flush/clear
+    @Benchmark
+    public long persist(PersistState state) {
+        EntityManager em = state.context.getBean(EntityManagerFactory.class).createEntityManager();
+        try {
+            em.getTransaction().begin();
+            int count = 0;
+            for (MemberRow row : state.memberRows) {
+                em.persist(new Member(row.username(), row.age(), em.getReference(Team.class, row.teamId())));
+                if (++count % PERSIST_FLUSH_INTERVAL == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+            em.getTransaction().commit();
+        } finally {
+            em.close();
+        }
+        return state.memberRows.size();
+    }
+
+}
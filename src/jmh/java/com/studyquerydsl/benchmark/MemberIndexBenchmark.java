@@ -0,0 +1,77 @@
+package com.studyquerydsl.benchmark;
+
+import com.studyquerydsl.dto.MemberSearchCondition;
+import com.studyquerydsl.dto.MemberTeamDto;
+import com.studyquerydsl.repository.MemberRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 검색 인덱스(idx_member_username, idx_member_team_id_age, idx_member_age) 유무에 따른 search 성능
+// 5M 건은 JPA 로 넣으면 오래 걸리므로 SQL(system_range)로 바로 채운다. 팀 1000개, 나이 0 ~ 99
+// ./gradlew jmh -PjmhIncludes=MemberIndex
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MemberIndexBenchmark {
+
+    private static final int TEAM_COUNT = 1_000;
+
+    @Param("5000000")
+    int memberCount;
+
+    @Param({"false", "true"})
+    boolean indexed;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+
+    private MemberSearchCondition byUsername;
+    private MemberSearchCondition byTeamAndAge;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("insert into team (id, name) select x, 'team' || x from system_range(1, ?)", TEAM_COUNT);
+        jdbcTemplate.update("insert into member (member_id, username, age, team_id)" +
+                " select x, 'member' || x, mod(x, 100), mod(x, ?) + 1 from system_range(1, ?)", TEAM_COUNT, memberCount);
+
+        // 엔티티의 @Table(indexes) 로 만들어진 인덱스를 지워서 인덱스가 없던 때와 비교
+        if (!indexed) {
+            jdbcTemplate.execute("drop index if exists idx_member_username");
+            jdbcTemplate.execute("drop index if exists idx_member_team_id_age");
+            jdbcTemplate.execute("drop index if exists idx_member_age");
+        }
+        jdbcTemplate.execute("analyze");
+
+        memberRepository = context.getBean(MemberRepository.class);
+
+        byUsername = new MemberSearchCondition();
+        byUsername.setUsername("member" + (memberCount / 2));
+
+        byTeamAndAge = new MemberSearchCondition();
+        byTeamAndAge.setTeamName("team7");
+        byTeamAndAge.setAgeGoe(30);
+        byTeamAndAge.setAgeLoe(39);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> searchByUsername() {
+        return memberRepository.search(byUsername);
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> searchByTeamAndAge() {
+        return memberRepository.search(byTeamAndAge);
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.studyquerydsl.benchmark;
+
+import com.studyquerydsl.dto.MemberSearchCondition;
+import com.studyquerydsl.dto.MemberTeamDto;
+import com.studyquerydsl.repository.MemberJpaRepository;
+import com.studyquerydsl.repository.MemberRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// search / searchByBuilder / searchPageComplex 기본 성능
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MemberSearchBenchmark {
+
+    @Param("10000")
+    int memberCount;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private MemberJpaRepository memberJpaRepository;
+    private MemberSearchCondition condition;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.seed(context, memberCount);
+        memberRepository = context.getBean(MemberRepository.class);
+        memberJpaRepository = context.getBean(MemberJpaRepository.class);
+
+        condition = new MemberSearchCondition();
+        condition.setAgeGoe(20);
+        condition.setAgeLoe(40);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> search() {
+        return memberRepository.search(condition);
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> searchByBuilder() {
+        return memberJpaRepository.searchByBuilder(condition);
+    }
+
+    @Benchmark
+    public Page<MemberTeamDto> searchPageComplex() {
+        return memberRepository.searchPageComplex(condition, PageRequest.of(0, 20));
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.studyquerydsl.benchmark;
+
+import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.studyquerydsl.dto.MemberDto;
+import com.studyquerydsl.dto.QMemberDto;
+import com.studyquerydsl.dto.UserDto;
+import com.studyquerydsl.repository.support.LambdaBeanProjection;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.studyquerydsl.entity.QMember.member;
+
+// DTO 조회 방식별 비교: Projections.bean / fields / constructor vs @QueryProjection vs LambdaBeanProjection
+// (row 매핑 비용만 따로 보려면 ProjectionRowMappingBenchmark)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProjectionBenchmark {
+
+    @Param("1000")
+    int rows;
+
+    private ConfigurableApplicationContext context;
+    private JPAQueryFactory queryFactory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.seed(context, rows);
+        queryFactory = context.getBean(JPAQueryFactory.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<MemberDto> bean() {
+        return queryFactory
+                .select(Projections.bean(MemberDto.class, member.username, member.age))
+                .from(member)
+                .fetch();
+    }
+
+    @Benchmark
+    public List<MemberDto> fields() {
+        return queryFactory
+                .select(Projections.fields(MemberDto.class, member.username, member.age))
+                .from(member)
+                .fetch();
+    }
+
+    @Benchmark
+    public List<UserDto> fieldsWithAlias() {
+        return queryFactory
+                .select(Projections.fields(UserDto.class, member.username.as("name"), member.age))
+                .from(member)
+                .fetch();
+    }
+
+    @Benchmark
+    public List<MemberDto> constructor() {
+        return queryFactory
+                .select(Projections.constructor(MemberDto.class, member.username, member.age))
+                .from(member)
+                .fetch();
+    }
+
+    @Benchmark
+    public List<MemberDto> queryProjection() {
+        return queryFactory
+                .select(new QMemberDto(member.username, member.age))
+                .from(member)
+                .fetch();
+    }
+
+    @Benchmark
+    public List<MemberDto> lambdaBean() {
+        return queryFactory
+                .select(LambdaBeanProjection.of(MemberDto.class, member.username, member.age))
+                .from(member)
+                .fetch();
+    }
+
+    @Benchmark
+    public List<UserDto> lambdaBeanWithAlias() {
+        return queryFactory
+                .select(LambdaBeanProjection.of(UserDto.class, member.username.as("name"), member.age))
+                .from(member)
+                .fetch();
+    }
+
+}
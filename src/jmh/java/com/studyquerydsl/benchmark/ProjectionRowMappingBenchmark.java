@@ -0,0 +1,56 @@
+package com.studyquerydsl.benchmark;
+
+import com.querydsl.core.types.FactoryExpression;
+import com.querydsl.core.types.Projections;
+import com.studyquerydsl.dto.MemberTeamDto;
+import com.studyquerydsl.dto.QMemberTeamDto;
+import com.studyquerydsl.repository.support.LambdaBeanProjection;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.studyquerydsl.entity.QMember.member;
+import static com.studyquerydsl.entity.QTeam.team;
+
+// DB 없이 row(Object[]) -> MemberTeamDto 변환 비용만 비교한다.
+// ./gradlew jmh -PjmhIncludes=ProjectionRowMapping -PjmhProfilers=gc 로 실행하면 row 당 할당량(gc.alloc.rate.norm)도 나온다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProjectionRowMappingBenchmark {
+
+    private final Object[] row = {1L, "member1", 10, 1L, "teamA"};
+
+    private final FactoryExpression<MemberTeamDto> bean = Projections.bean(MemberTeamDto.class,
+            member.id, member.username, member.age, team.id.as("teamId"), team.name.as("teamName"));
+
+    private final FactoryExpression<MemberTeamDto> fields = Projections.fields(MemberTeamDto.class,
+            member.id, member.username, member.age, team.id.as("teamId"), team.name.as("teamName"));
+
+    private final FactoryExpression<MemberTeamDto> queryProjection = new QMemberTeamDto(
+            member.id, member.username, member.age, team.id, team.name);
+
+    private final FactoryExpression<MemberTeamDto> lambdaBean = LambdaBeanProjection.of(MemberTeamDto.class,
+            member.id, member.username, member.age, team.id.as("teamId"), team.name.as("teamName"));
+
+    @Benchmark
+    public MemberTeamDto bean() {
+        return bean.newInstance(row);
+    }
+
+    @Benchmark
+    public MemberTeamDto fields() {
+        return fields.newInstance(row);
+    }
+
+    @Benchmark
+    public MemberTeamDto queryProjection() {
+        return queryProjection.newInstance(row);
+    }
+
+    @Benchmark
+    public MemberTeamDto lambdaBean() {
+        return lambdaBean.newInstance(row);
+    }
+
+}
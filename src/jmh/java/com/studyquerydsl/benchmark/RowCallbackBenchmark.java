@@ -0,0 +1,58 @@
+package com.studyquerydsl.benchmark;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.studyquerydsl.repository.RowQueryExecutor;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.studyquerydsl.entity.QMember.member;
+
+// 리포트용 전체 읽기: Tuple 목록(fetch) vs RowQueryExecutor.forEachRow (커서 + Row 재사용)
+// -PjmhProfilers=gc 로 실행하면 row 당 할당량 차이도 볼 수 있다.
+// ./gradlew jmh -PjmhIncludes=RowCallback -PjmhProfilers=gc
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RowCallbackBenchmark {
+
+    @Param("100000")
+    int rows;
+
+    private ConfigurableApplicationContext context;
+    private JPAQueryFactory queryFactory;
+    private RowQueryExecutor rowQueryExecutor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.seed(context, rows);
+        queryFactory = context.getBean(JPAQueryFactory.class);
+        rowQueryExecutor = context.getBean(RowQueryExecutor.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long tuples() {
+        long sum = 0;
+        for (Tuple tuple : queryFactory.select(member.username, member.age).from(member).fetch()) {
+            sum += tuple.get(member.username).length() + tuple.get(member.age);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long rowCallback() {
+        long[] sum = {0};
+        rowQueryExecutor.forEachRow(queryFactory.select(member.username, member.age).from(member),
+                row -> sum[0] += row.getString(0).length() + row.getInt(1));
+        return sum[0];
+    }
+
+}
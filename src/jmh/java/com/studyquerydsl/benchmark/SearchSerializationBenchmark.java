@@ -0,0 +1,85 @@
+package com.studyquerydsl.benchmark;
+
+import com.querydsl.jpa.HQLTemplates;
+import com.querydsl.jpa.JPQLSerializer;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.studyquerydsl.dto.MemberSearchCondition;
+import com.studyquerydsl.dto.MemberTeamDto;
+import com.studyquerydsl.dto.QMemberTeamDto;
+import com.studyquerydsl.repository.MemberSearchQueryCache;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.studyquerydsl.entity.QMember.member;
+import static com.studyquerydsl.entity.QTeam.team;
+
+// 조건 조합별 JPQL 캐시(MemberSearchQueryCache) 적용 전/후 비교
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchSerializationBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private JPAQueryFactory queryFactory;
+    private MemberSearchQueryCache searchQueryCache;
+    private MemberSearchCondition condition;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.seed(context, 100);
+        queryFactory = context.getBean(JPAQueryFactory.class);
+        searchQueryCache = context.getBean(MemberSearchQueryCache.class);
+
+        condition = new MemberSearchCondition();
+        condition.setTeamName("team1");
+        condition.setAgeGoe(10);
+        condition.setAgeLoe(40);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // 캐시 적용 전 요청마다 발생하던 비용: 표현식 트리 생성 + JPQL 직렬화 (DB 접근 없음)
+    @Benchmark
+    public String buildAndSerialize() {
+        JPQLSerializer serializer = new JPQLSerializer(HQLTemplates.DEFAULT);
+        serializer.serialize(searchQuery(queryFactory.query()).getMetadata(), false, null);
+        return serializer.toString();
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> searchRebuilt() {
+        return searchQuery(queryFactory.query()).fetch();
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> searchCached() {
+        return searchQueryCache.search(condition);
+    }
+
+    private JPAQuery<MemberTeamDto> searchQuery(JPAQuery<?> query) {
+        return query
+                .select(new QMemberTeamDto(
+                        member.id,
+                        member.username,
+                        member.age,
+                        team.id,
+                        team.name
+                ))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(
+                        team.name.eq(condition.getTeamName()),
+                        member.age.goe(condition.getAgeGoe()),
+                        member.age.loe(condition.getAgeLoe())
+                );
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.studyquerydsl.benchmark;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.studyquerydsl.dto.MemberTeamDto;
+import com.studyquerydsl.repository.MemberRepository;
+import com.studyquerydsl.repository.UsernameMatch;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.studyquerydsl.entity.QMember.member;
+
+// 이름 검색: like 경로(QuerydslBasicTest.searchContains 와 같은 '%x%') vs searchUsername
+//   index=like   : PostgresUsernameSearchIndex (H2 에서는 pg_trgm 이 없으므로 PREFIX / CONTAINS 만)
+//   index=memory : InMemoryUsernameSearchIndex (local 프로파일)
+// pg_trgm GIN 인덱스 효과(FUZZY 포함)는 PostgreSQL 에 V3, V4 를 적용해서 따로 측정해야 한다.
+// ./gradlew jmh -PjmhIncludes=UsernameSearch
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UsernameSearchBenchmark {
+
+    @Param("200000")
+    int memberCount;
+
+    @Param({"like", "memory"})
+    String index;
+
+    @Param({"PREFIX", "CONTAINS"})
+    UsernameMatch match;
+
+    @Param("20")
+    int limit;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private JPAQueryFactory queryFactory;
+    private String term;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = index.equals("memory") ? BenchmarkContext.start("local") : BenchmarkContext.start();
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("insert into team (id, name) select x, 'team' || x from system_range(1, ?)", BenchmarkContext.TEAM_COUNT);
+        jdbcTemplate.update("insert into member (member_id, username, age, team_id)" +
+                        " select x, 'member' || x, mod(x, 100), mod(x, ?) + 1 from system_range(1, ?)",
+                BenchmarkContext.TEAM_COUNT, memberCount);
+        jdbcTemplate.execute("analyze");
+
+        memberRepository = context.getBean(MemberRepository.class);
+        queryFactory = context.getBean(JPAQueryFactory.class);
+        term = match == UsernameMatch.PREFIX ? "member1999" : "9999";
+        memberRepository.searchUsername(term, match, limit); // memory 는 여기서 인덱스를 만든다.
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // 기존 방식: like 로 바로 조회 (정렬 없음)
+    @Benchmark
+    public List<String> like() {
+        return queryFactory
+                .select(member.username)
+                .from(member)
+                .where(match == UsernameMatch.PREFIX ? member.username.startsWith(term) : member.username.contains(term))
+                .limit(limit)
+                .fetch();
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> searchUsername() {
+        return memberRepository.searchUsername(term, match, limit);
+    }
+
+}
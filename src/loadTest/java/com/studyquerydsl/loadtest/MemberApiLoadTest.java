@@ -0,0 +1,241 @@
+package com.studyquerydsl.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// 실행 중인 애플리케이션에 동시 요청을 보내고 엔드포인트별 처리량과 지연시간을 출력한다.
+// 측정하는 동안 /actuator/metrics 로 커넥션 풀 상태(획득 대기 시간, 최대 대기 요청 수, 최대 포화도)도 함께 출력한다.
+// 사용법: MemberApiLoadTest <baseUrl> <concurrency> <durationSeconds> [poolName]
+//
+// 검색 결과 캐시(MemberSearchResultCache)가 켜져 있으면 요청이 DB 까지 가지 않아 풀 크기의 영향이 보이지 않는다.
+// 대상 애플리케이션은 --member.search.result-cache.enabled=false 로 띄운다. (측정 구간의 캐시 히트 수를 같이 출력)
+// 요청마다 page 를 바꿔서 같은 쿼리 결과만 반복해서 읽지 않도록 한다.
+public class MemberApiLoadTest {
+
+    private static final Pattern MEASUREMENT = Pattern.compile("\"statistic\"\\s*:\\s*\"(\\w+)\"\\s*,\\s*\"value\"\\s*:\\s*([-0-9.eE+]+|\"NaN\")");
+
+    // %d 에는 요청마다 0 ~ PAGES-1 의 임의 값이 들어간다.
+    private static final List<String> PATHS = List.of(
+            "/v1/members?teamName=teamB&ageGoe=%d",
+            "/v2/members?page=%d&size=20&ageGoe=20"
+    );
+    private static final int PAGES = 50;
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        int durationSeconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        String poolName = args.length > 3 ? args[3] : "member";
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        System.out.printf("baseUrl=%s, concurrency=%d, duration=%ds, pool=%s%n", baseUrl, concurrency, durationSeconds, poolName);
+        PoolMetrics pool = new PoolMetrics(client, baseUrl, poolName);
+        for (String path : PATHS) {
+            run(client, baseUrl + path, path, concurrency, Duration.ofSeconds(durationSeconds), pool);
+        }
+    }
+
+    private static void run(HttpClient client, String uriTemplate, String label, int concurrency, Duration duration, PoolMetrics pool) throws Exception {
+        // 짧게 워밍업한 뒤 측정
+        send(client, uriTemplate, Math.min(concurrency, 10), Duration.ofSeconds(3));
+        PoolMetrics.Sampling sampling = pool.start();
+        Result result = send(client, uriTemplate, concurrency, duration);
+        String poolSummary = sampling.stop();
+
+        long[] latencies = result.latenciesMicros();
+        Arrays.sort(latencies);
+        System.out.printf("%-50s %10.1f req/s  ok=%d  error=%d  p50=%.1fms  p99=%.1fms  max=%.1fms%n",
+                label,
+                latencies.length / (duration.toMillis() / 1000.0),
+                latencies.length,
+                result.errors(),
+                percentile(latencies, 0.50) / 1000.0,
+                percentile(latencies, 0.99) / 1000.0,
+                latencies.length > 0 ? latencies[latencies.length - 1] / 1000.0 : 0.0);
+        System.out.printf("%-50s %s%n", "", poolSummary);
+    }
+
+    private static Result send(HttpClient client, String uriTemplate, int concurrency, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<Result>> futures = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(executor.submit(() -> {
+                    LongList latencies = new LongList();
+                    long errors = 0;
+                    while (System.nanoTime() < deadline) {
+                        URI uri = URI.create(uriTemplate.formatted(ThreadLocalRandom.current().nextInt(PAGES)));
+                        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() == 200) {
+                                latencies.add((System.nanoTime() - start) / 1_000);
+                            } else {
+                                errors++;
+                            }
+                        } catch (Exception e) {
+                            errors++;
+                        }
+                    }
+                    return new Result(latencies.toArray(), errors);
+                }));
+            }
+
+            LongList all = new LongList();
+            long errors = 0;
+            for (Future<Result> future : futures) {
+                Result result = future.get();
+                all.addAll(result.latenciesMicros());
+                errors += result.errors();
+            }
+            return new Result(all.toArray(), errors);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private record Result(long[] latenciesMicros, long errors) {
+    }
+
+    // 애플리케이션의 hikaricp.* / datasource.pool.saturation 메트릭 (management.endpoints.web.exposure 에 metrics 필요)
+    // 풀 크기(MEMBER_DB_POOL_SIZE)를 바꿔 띄우면서 처리량과 함께 비교한다.
+    private static final class PoolMetrics {
+
+        private final HttpClient client;
+        private final String baseUrl;
+        private final String poolName;
+
+        PoolMetrics(HttpClient client, String baseUrl, String poolName) {
+            this.client = client;
+            this.baseUrl = baseUrl;
+            this.poolName = poolName;
+        }
+
+        Sampling start() {
+            return new Sampling();
+        }
+
+        double readPool(String metric, String statistic) {
+            return read(metric, statistic, "pool:" + poolName);
+        }
+
+        // 검색 결과 캐시 히트 수 (0 이 아니면 일부 요청이 DB 를 거치지 않았다)
+        double readSearchCacheHits() {
+            return read("cache.gets", "COUNT", "cache:member.search.result", "result:hit");
+        }
+
+        // statistic -> value, 가져오지 못하면 NaN
+        double read(String metric, String statistic, String... tags) {
+            try {
+                StringBuilder uri = new StringBuilder(baseUrl).append("/actuator/metrics/").append(metric);
+                for (int i = 0; i < tags.length; i++) {
+                    uri.append(i == 0 ? '?' : '&').append("tag=").append(tags[i]);
+                }
+                HttpRequest request = HttpRequest.newBuilder(URI.create(uri.toString()))
+                        .timeout(Duration.ofSeconds(2))
+                        .GET()
+                        .build();
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() != 200) {
+                    return Double.NaN;
+                }
+                Matcher matcher = MEASUREMENT.matcher(response.body());
+                while (matcher.find()) {
+                    if (matcher.group(1).equals(statistic)) {
+                        return matcher.group(2).startsWith("\"") ? Double.NaN : Double.parseDouble(matcher.group(2));
+                    }
+                }
+                return Double.NaN;
+            } catch (Exception e) {
+                return Double.NaN;
+            }
+        }
+
+        // 측정 구간의 획득 대기 시간 평균(누적값 차이)과, 500ms 마다 읽은 대기 요청 수 / 포화도의 최댓값
+        final class Sampling {
+
+            private final double acquireCount = readPool("hikaricp.connections.acquire", "COUNT");
+            private final double acquireSeconds = readPool("hikaricp.connections.acquire", "TOTAL_TIME");
+            private final double cacheHits = readSearchCacheHits();
+            private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+            private volatile double maxPending = Double.NaN;
+            private volatile double maxSaturation = Double.NaN;
+
+            Sampling() {
+                sampler.scheduleWithFixedDelay(() -> {
+                    maxPending = max(maxPending, readPool("hikaricp.connections.pending", "VALUE"));
+                    maxSaturation = max(maxSaturation, readPool("datasource.pool.saturation", "VALUE"));
+                }, 0, 500, TimeUnit.MILLISECONDS);
+            }
+
+            String stop() throws InterruptedException {
+                sampler.shutdownNow();
+                sampler.awaitTermination(5, TimeUnit.SECONDS);
+                double count = readPool("hikaricp.connections.acquire", "COUNT") - acquireCount;
+                double seconds = readPool("hikaricp.connections.acquire", "TOTAL_TIME") - acquireSeconds;
+                double hits = readSearchCacheHits() - cacheHits;
+                if (Double.isNaN(count)) {
+                    return "pool: 메트릭을 읽을 수 없음 (/actuator/metrics)";
+                }
+                return String.format("pool: acquire=%.0f  acquireAvg=%.3fms  maxPending=%.0f  maxSaturation=%.2f  searchCacheHits=%.0f%s",
+                        count, count > 0 ? seconds * 1000 / count : 0.0, maxPending, maxSaturation, hits,
+                        hits > 0 ? "  (캐시를 끄고 다시 측정: --member.search.result-cache.enabled=false)" : "");
+            }
+
+            private static double max(double current, double value) {
+                return Double.isNaN(current) ? value : Double.isNaN(value) ? current : Math.max(current, value);
+            }
+        }
+    }
+
+    // 요청마다 Long 을 만들지 않도록 long 배열로 보관
+    private static final class LongList {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void addAll(long[] others) {
+            for (long other : others) {
+                add(other);
+            }
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.studyquerydsl.config;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+// 커넥션 풀 포화도: datasource.pool.saturation{pool} = 사용 중인 커넥션 / maximum-pool-size
+// 1 에 붙어 있으면서 hikaricp.connections.pending 이 0 보다 크면 요청이 커넥션을 기다리는 중이다. (대기 시간은 hikaricp.connections.acquire)
+// p6spy / 레플리카 라우팅으로 감싼 DataSource 도 안쪽 Hikari 풀을 찾아서 풀마다 하나씩 등록한다.
+@Component
+@RequiredArgsConstructor
+public class ConnectionPoolMetrics implements MeterBinder {
+
+    private final ObjectProvider<DataSource> dataSources;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Set<HikariDataSource> pools = Collections.newSetFromMap(new IdentityHashMap<>());
+        dataSources.orderedStream().forEach(dataSource -> {
+            HikariDataSource pool = DataSourceUnwrapper.unwrap(dataSource, HikariConfigMXBean.class, HikariDataSource.class);
+            if (pool != null && pools.add(pool)) {
+                Gauge.builder("datasource.pool.saturation", pool, ConnectionPoolMetrics::saturation)
+                        .tag("pool", pool.getPoolName() != null ? pool.getPoolName() : "default")
+                        .register(registry);
+            }
+        });
+    }
+
+    // 첫 커넥션을 얻기 전에는 풀이 만들어지지 않았으므로 0
+    private static double saturation(HikariDataSource pool) {
+        HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+        if (mxBean == null) {
+            return 0;
+        }
+        return (double) mxBean.getActiveConnections() / pool.getMaximumPoolSize();
+    }
+
+}
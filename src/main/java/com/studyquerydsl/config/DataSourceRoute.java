@@ -0,0 +1,6 @@
+package com.studyquerydsl.config;
+
+public enum DataSourceRoute {
+    PRIMARY, // 쓰기 + 읽기 전용이 아닌 트랜잭션
+    REPLICA  // @Transactional(readOnly = true)
+}
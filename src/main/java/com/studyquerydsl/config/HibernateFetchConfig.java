@@ -0,0 +1,35 @@
+package com.studyquerydsl.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// SQL 수 집계용 StatementInspector 등록 + 지연 로딩 연관관계(Member.team, Team.members)의 fetch 방식 선택
+//   member.fetch.mode=none      : 기본 (프록시/컬렉션마다 SQL 한 번 -> N+1 가능)
+//   member.fetch.mode=batch     : 같은 영속성 컨텍스트의 미초기화 프록시/컬렉션을 in (...) 으로 batch-size 개씩 함께 로딩
+//   member.fetch.mode=subselect : 컬렉션을 처음 읽은 쿼리를 서브쿼리로 다시 사용해서 한 번에 로딩 (to-one 은 batch 로 처리)
+@Configuration
+public class HibernateFetchConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateFetchCustomizer(
+            @Value("${member.fetch.mode:none}") String fetchMode,
+            @Value("${member.fetch.batch-size:100}") int batchSize) {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountStatementInspector());
+            switch (fetchMode) {
+                case "none" -> {
+                }
+                case "batch" -> properties.put(AvailableSettings.DEFAULT_BATCH_FETCH_SIZE, batchSize);
+                case "subselect" -> {
+                    properties.put(AvailableSettings.USE_SUBSELECT_FETCH, true);
+                    properties.put(AvailableSettings.DEFAULT_BATCH_FETCH_SIZE, batchSize);
+                }
+                default -> throw new IllegalArgumentException("member.fetch.mode 는 none, batch, subselect 중 하나여야 합니다: " + fetchMode);
+            }
+        };
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.studyquerydsl.config;
+
+import com.p6spy.engine.common.ResultSetInformation;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.JdbcEventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+
+// p6spy 이벤트로 현재 스레드가 JDBC(쿼리 실행 + ResultSet.next)에 쓴 시간을 누적한다.
+// 리포지토리 메서드 전후 값의 차이가 "JDBC 시간", 나머지가 결과 매핑 등 애플리케이션 쪽 시간이다. (RepositoryMetrics)
+@Component
+public class JdbcTimeListener extends JdbcEventListener {
+
+    private static final ThreadLocal<long[]> elapsed = ThreadLocal.withInitial(() -> new long[1]);
+
+    public static long currentThreadNanos() {
+        return elapsed.get()[0];
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        elapsed.get()[0] += timeElapsedNanos;
+    }
+
+    @Override
+    public void onAfterResultSetNext(ResultSetInformation resultSetInformation, long timeElapsedNanos,
+                                     boolean hasNext, SQLException e) {
+        elapsed.get()[0] += timeElapsedNanos;
+    }
+
+}
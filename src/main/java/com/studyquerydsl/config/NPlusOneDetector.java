@@ -0,0 +1,99 @@
+package com.studyquerydsl.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.LoadEventListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 지연 로딩으로 엔티티/컬렉션을 하나씩 불러오는 횟수를 세고, 요청(또는 QueryCounter 구간)이 끝났을 때
+// 같은 연관관계를 threshold 번 이상 개별 로딩했고 실제 SQL 도 threshold 개 이상 실행됐으면 N+1 로 보고 경고한다.
+// (batch fetch 가 켜져 있으면 로딩 횟수는 그대로여도 SQL 수가 줄어들어 경고하지 않는다.)
+@Slf4j
+@Component
+public class NPlusOneDetector {
+
+    private final EntityManagerFactory emf;
+    private final MeterRegistry meterRegistry;
+    private final int threshold;
+
+    // 엔티티명 -> 그 엔티티를 가리키는 to-one 연관관계 (예: com.studyquerydsl.entity.Team -> [Member.team])
+    private final Map<String, List<String>> toOneReferrers = new HashMap<>();
+
+    public NPlusOneDetector(EntityManagerFactory emf,
+                            MeterRegistry meterRegistry,
+                            @Value("${member.nplusone.threshold:5}") int threshold) {
+        this.emf = emf;
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+    }
+
+    @PostConstruct
+    void register() {
+        for (EntityType<?> entity : emf.getMetamodel().getEntities()) {
+            for (Attribute<?, ?> attribute : entity.getAttributes()) {
+                if (attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.MANY_TO_ONE
+                        || attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.ONE_TO_ONE) {
+                    toOneReferrers.computeIfAbsent(attribute.getJavaType().getName(), key -> new ArrayList<>())
+                            .add(entity.getName() + "." + attribute.getName());
+                }
+            }
+        }
+
+        EventListenerRegistry registry = emf.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+
+        // 프록시 초기화(IMMEDIATE_LOAD)와 즉시 로딩 연관관계 해석(INTERNAL_LOAD_*) 만 센다. (em.find 는 제외)
+        registry.appendListeners(EventType.LOAD, (LoadEventListener) (event, loadType) -> {
+            if (loadType == LoadEventListener.IMMEDIATE_LOAD
+                    || loadType == LoadEventListener.INTERNAL_LOAD_EAGER
+                    || loadType == LoadEventListener.INTERNAL_LOAD_NULLABLE) {
+                QueryCounter.entityLoaded(event.getEntityClassName());
+            }
+        });
+        registry.appendListeners(EventType.INIT_COLLECTION, (InitializeCollectionEventListener) event ->
+                QueryCounter.collectionInitialized(event.getCollection().getRole()));
+    }
+
+    public void report(QueryCounter.Context context, String scope) {
+        if (context.getStatements() < threshold) {
+            return;
+        }
+        context.getEntityLoads().forEach((entityName, count) -> {
+            if (count >= threshold) {
+                String association = String.join(", ", toOneReferrers.getOrDefault(entityName, List.of(entityName)));
+                warn(scope, association, count, context.getStatements());
+            }
+        });
+        context.getCollectionInits().forEach((role, count) -> {
+            if (count >= threshold) {
+                warn(scope, role, count, context.getStatements());
+            }
+        });
+    }
+
+    private void warn(String scope, String association, int count, int statements) {
+        log.warn("N+1 의심: {} 에서 {} 를 {} 번 개별 로딩 (전체 SQL {} 개). fetch join 이나 member.fetch.mode=batch 를 고려하세요.",
+                scope, association, count, statements);
+        Counter.builder("hibernate.nplusone")
+                .tag("association", association)
+                .register(meterRegistry)
+                .increment();
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.studyquerydsl.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// 요청 단위로 실행된 SQL 수를 세고, 끝나면 N+1 여부를 확인한다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private final NPlusOneDetector nPlusOneDetector;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryCounter.Context context = QueryCounter.stop();
+            String scope = request.getMethod() + " " + request.getRequestURI();
+            log.debug("{} SQL {} 개", scope, context.getStatements());
+            nPlusOneDetector.report(context, scope);
+        }
+    }
+
+}
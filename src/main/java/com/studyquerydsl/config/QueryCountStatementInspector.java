@@ -0,0 +1,14 @@
+package com.studyquerydsl.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Hibernate 가 SQL 을 준비할 때마다 호출된다. SQL 은 바꾸지 않고 개수만 센다.
+public class QueryCountStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryCounter.statementPrepared();
+        return sql;
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.studyquerydsl.config;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+// 현재 스레드(요청 / 테스트 블록)에서 실행된 SQL 수와 엔티티 개별 로딩, 컬렉션 초기화 횟수를 센다.
+// 값은 QueryCountStatementInspector, NPlusOneDetector 의 Hibernate 이벤트 리스너가 채운다.
+// (ReadOnlyQueryExecutor 처럼 다른 스레드에서 실행된 쿼리는 포함되지 않는다.)
+public final class QueryCounter {
+
+    private static final ThreadLocal<Context> current = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    // 이미 세는 중이면 새로 시작하고, stop 할 때 바깥 카운트에도 더해 준다.
+    public static Context start() {
+        Context context = new Context(current.get());
+        current.set(context);
+        return context;
+    }
+
+    public static Context stop() {
+        Context context = current.get();
+        if (context == null) {
+            throw new IllegalStateException("QueryCounter.start() 가 호출되지 않았습니다.");
+        }
+        current.set(context.parent);
+        if (context.parent != null) {
+            context.parent.merge(context);
+        }
+        return context;
+    }
+
+    static void statementPrepared() {
+        Context context = current.get();
+        if (context != null) {
+            context.statements++;
+        }
+    }
+
+    static void entityLoaded(String entityName) {
+        Context context = current.get();
+        if (context != null) {
+            context.entityLoads.merge(entityName, 1, Integer::sum);
+        }
+    }
+
+    static void collectionInitialized(String role) {
+        Context context = current.get();
+        if (context != null) {
+            context.collectionInits.merge(role, 1, Integer::sum);
+        }
+    }
+
+    public static final class Context {
+
+        private final Context parent;
+        private int statements;
+        private final Map<String, Integer> entityLoads = new HashMap<>();
+        private final Map<String, Integer> collectionInits = new HashMap<>();
+
+        private Context(Context parent) {
+            this.parent = parent;
+        }
+
+        public int getStatements() {
+            return statements;
+        }
+
+        // 엔티티명 -> 지연 로딩(프록시 초기화) 등으로 id 하나씩 조회한 횟수
+        public Map<String, Integer> getEntityLoads() {
+            return Collections.unmodifiableMap(entityLoads);
+        }
+
+        // 컬렉션 role(예: com.studyquerydsl.entity.Team.members) -> 초기화 횟수
+        public Map<String, Integer> getCollectionInits() {
+            return Collections.unmodifiableMap(collectionInits);
+        }
+
+        private void merge(Context child) {
+            statements += child.statements;
+            child.entityLoads.forEach((name, count) -> entityLoads.merge(name, count, Integer::sum));
+            child.collectionInits.forEach((role, count) -> collectionInits.merge(role, count, Integer::sum));
+        }
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.studyquerydsl.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// 레플리카의 복제 지연을 주기적으로 확인한다. 지연이 maxLag 를 넘거나 확인에 실패하면 읽기도 primary 로 보낸다.
+@Slf4j
+public class ReplicaLagMonitor implements DisposableBean {
+
+    // now() - pg_last_xact_replay_timestamp() 는 primary 에 쓰기가 없으면 계속 커지므로,
+    // 받은 WAL 을 모두 재생했으면(receive lsn = replay lsn) 0, 재생이 밀려 있을 때만 시간 차이를 지연으로 본다.
+    // 단, WAL 수신이 끊기면 receive lsn 이 멈춘 채로 재생이 따라잡으므로 streaming 중이 아니면 -1 (사용 불가)
+    // (pg_stat_wal_receiver.status 는 pg_read_all_stats / pg_monitor 권한이 있어야 보인다. 없으면 항상 -1)
+    // 레플리카가 아니면(복구 모드가 아니면) 0
+    private static final String LAG_SQL = "select case"
+            + " when not pg_is_in_recovery() then 0"
+            + " when not exists (select 1 from pg_stat_wal_receiver where status = 'streaming') then -1"
+            + " when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0"
+            + " else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0) * 1000"
+            + " end";
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final Duration maxLag;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile boolean replicaUsable = false; // 첫 확인 전까지는 primary 사용
+    private volatile long lastLagMillis = -1;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, Duration maxLag) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.replicaJdbcTemplate.setQueryTimeout(2);
+        this.maxLag = maxLag;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void start(Duration checkInterval) {
+        scheduler.scheduleWithFixedDelay(this::check, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public long getLastLagMillis() {
+        return lastLagMillis;
+    }
+
+    // 테스트용
+    void setReplicaUsable(boolean replicaUsable) {
+        this.replicaUsable = replicaUsable;
+    }
+
+    void check() {
+        try {
+            Double lag = replicaJdbcTemplate.queryForObject(LAG_SQL, Double.class);
+            lastLagMillis = lag != null ? lag.longValue() : 0;
+            boolean usable = lastLagMillis >= 0 && lastLagMillis <= maxLag.toMillis(); // -1: WAL 수신 중단
+            if (usable != replicaUsable) {
+                log.warn("레플리카 사용 여부 변경: {} (복제 지연 {}ms, 허용 {}ms)", usable, lastLagMillis, maxLag.toMillis());
+            }
+            replicaUsable = usable;
+        } catch (RuntimeException e) {
+            if (replicaUsable) {
+                log.warn("레플리카 상태 확인 실패, 읽기 요청을 primary 로 보냅니다.", e);
+            }
+            lastLagMillis = -1;
+            replicaUsable = false;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+}
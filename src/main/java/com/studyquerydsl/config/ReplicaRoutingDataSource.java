@@ -0,0 +1,41 @@
+package com.studyquerydsl.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.Map;
+
+// 읽기 전용 트랜잭션은 레플리카로, 나머지는 primary 로 보낸다.
+// 트랜잭션의 readOnly 여부는 트랜잭션 시작 후에 설정되므로 반드시 LazyConnectionDataSourceProxy 로 감싸서 사용해야 한다.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final Map<DataSourceRoute, Counter> routeCounters = new EnumMap<>(DataSourceRoute.class);
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica,
+                                    ReplicaLagMonitor lagMonitor, MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(DataSourceRoute.PRIMARY, primary, DataSourceRoute.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        for (DataSourceRoute route : DataSourceRoute.values()) {
+            routeCounters.put(route, Counter.builder("datasource.routing")
+                    .tag("route", route.name().toLowerCase())
+                    .description("커넥션 획득 시 선택된 데이터소스")
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        DataSourceRoute route = TransactionSynchronizationManager.isCurrentTransactionReadOnly() && lagMonitor.isReplicaUsable()
+                ? DataSourceRoute.REPLICA
+                : DataSourceRoute.PRIMARY;
+        routeCounters.get(route).increment();
+        return route;
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.studyquerydsl.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// member.datasource.routing.enabled=true 이면 primary / replica 두 커넥션 풀을 만들고 읽기 전용 트랜잭션을 레플리카로 보낸다.
+// 각 풀은 pool 태그(primary / replica)로 hikaricp.* 메트릭이 따로 노출된다.
+@Configuration
+@ConditionalOnProperty(name = "member.datasource.routing.enabled", havingValue = "true")
+public class ReplicaRoutingDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("member.datasource.primary")
+    public HikariDataSource primaryDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("member.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                               @Value("${member.datasource.replica-max-lag:5s}") Duration maxLag,
+                                               @Value("${member.datasource.replica-lag-check-interval:5s}") Duration checkInterval,
+                                               MeterRegistry meterRegistry) {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replicaDataSource, maxLag);
+        monitor.start(checkInterval);
+        Gauge.builder("datasource.replica.lag", monitor, ReplicaLagMonitor::getLastLagMillis)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.usable", monitor, m -> m.isReplicaUsable() ? 1 : 0)
+                .register(meterRegistry);
+        return monitor;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReplicaLagMonitor replicaLagMonitor,
+                                 MeterRegistry meterRegistry) {
+        ReplicaRoutingDataSource routingDataSource =
+                new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor, meterRegistry);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.studyquerydsl.config;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.JdbcEventListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 모든 SQL 을 남기는 p6spy 로그 대신, sample-rate 비율만큼만 SQL(파라미터 포함)과 실행 시간을 남긴다.
+// 운영(prd)에서는 p6spy 로그를 끄고 이 로거만 사용한다. 기본값 0 이면 아무것도 하지 않는다.
+@Slf4j
+@Component
+public class SampledSqlLogger extends JdbcEventListener {
+
+    private final double sampleRate;
+
+    public SampledSqlLogger(@Value("${member.sql-log.sample-rate:0}") double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        if (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        log.info("[sampled sql] {}ms | {}", TimeUnit.NANOSECONDS.toMillis(timeElapsedNanos),
+                statementInformation.getSqlWithValues());
+    }
+
+}
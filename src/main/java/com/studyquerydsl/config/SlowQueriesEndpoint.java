@@ -0,0 +1,29 @@
+package com.studyquerydsl.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// GET /actuator/slowqueries : 최근 느린 쿼리(바인딩 값 없이)와 실행 계획, DELETE : 비우기 (운영은 management 포트로만 노출)
+@Component
+@Endpoint(id = "slowqueries")
+@RequiredArgsConstructor
+public class SlowQueriesEndpoint {
+
+    private final SlowQueryRecorder slowQueryRecorder;
+
+    @ReadOperation
+    public List<SlowQueryRecorder.SlowQuery> slowQueries() {
+        return slowQueryRecorder.recent();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        slowQueryRecorder.clear();
+    }
+
+}
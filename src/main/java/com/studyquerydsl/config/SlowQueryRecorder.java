@@ -0,0 +1,178 @@
+package com.studyquerydsl.config;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.JdbcEventListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.regex.Pattern;
+
+// threshold 보다 오래 걸린 SQL 을 최근 capacity 건까지 보관한다. (/actuator/slowqueries)
+// 바인딩 값(회원 이름 등)은 보관하거나 로그로 남기지 않고 ? 자리표시자 SQL 만 남긴다.
+// SELECT 는 별도 스레드에서 EXPLAIN (explain-analyze 면 ANALYZE, BUFFERS) 결과도 붙인다. 값은 이 작업에만 넘긴다.
+// 레플리카가 있으면(member.datasource.routing.enabled) 레플리카에서 실행 계획을 본다.
+// ANALYZE 는 쿼리를 한 번 더 실행하므로 동시에 하나씩만, 대기열이 차면 실행 계획 없이 남긴다.
+@Slf4j
+@Component
+public class SlowQueryRecorder extends JdbcEventListener implements DisposableBean {
+
+    // 실행 계획의 Filter / Index Cond 에 찍히는 문자열 상수 ('...', '' 는 이스케이프된 따옴표)
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+
+    // DataSource(p6spy) 생성 중에 이 리스너가 만들어지므로 JdbcTemplate 은 실제로 필요할 때 꺼낸다.
+    private final ObjectProvider<JdbcTemplate> jdbcTemplateProvider;
+    private final ObjectProvider<DataSource> replicaDataSourceProvider;
+    private final long thresholdNanos;
+    private final boolean explainAnalyze;
+
+    private final AtomicReferenceArray<SlowQuery> buffer;
+    private final AtomicLong sequence = new AtomicLong();
+    private final ThreadPoolExecutor explainExecutor;
+    private volatile JdbcTemplate explainJdbcTemplate;
+
+    public SlowQueryRecorder(ObjectProvider<JdbcTemplate> jdbcTemplateProvider,
+                             @Qualifier("replicaDataSource") ObjectProvider<DataSource> replicaDataSourceProvider,
+                             @Value("${member.slow-query.threshold:500ms}") Duration threshold,
+                             @Value("${member.slow-query.capacity:100}") int capacity,
+                             @Value("${member.slow-query.explain-analyze:true}") boolean explainAnalyze) {
+        this.jdbcTemplateProvider = jdbcTemplateProvider;
+        this.replicaDataSourceProvider = replicaDataSourceProvider;
+        this.thresholdNanos = threshold.toNanos();
+        this.explainAnalyze = explainAnalyze;
+        this.buffer = new AtomicReferenceArray<>(capacity);
+        this.explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(10),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        if (timeElapsedNanos < thresholdNanos) {
+            return;
+        }
+        String sql = statementInformation.getSql();
+        if (sql == null || isExplain(sql)) {
+            return; // 실행 계획 조회 자체는 기록하지 않는다.
+        }
+
+        long seq = sequence.getAndIncrement();
+        int slot = (int) (seq % buffer.length());
+        SlowQuery entry = new SlowQuery(seq, Instant.now(), TimeUnit.NANOSECONDS.toMillis(timeElapsedNanos),
+                sql, Thread.currentThread().getName(), null);
+        buffer.set(slot, entry);
+        log.warn("느린 쿼리 {}ms | {}", entry.elapsedMillis(), sql);
+
+        if (isSelect(sql)) {
+            String sqlWithValues = statementInformation.getSqlWithValues();
+            explainExecutor.execute(() -> attachPlan(slot, entry, sqlWithValues));
+        }
+    }
+
+    // 최근 것부터
+    public List<SlowQuery> recent() {
+        List<SlowQuery> result = new ArrayList<>(buffer.length());
+        for (int i = 0; i < buffer.length(); i++) {
+            SlowQuery entry = buffer.get(i);
+            if (entry != null) {
+                result.add(entry);
+            }
+        }
+        result.sort((a, b) -> Long.compare(b.seq(), a.seq()));
+        return result;
+    }
+
+    public void clear() {
+        for (int i = 0; i < buffer.length(); i++) {
+            buffer.set(i, null);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        explainExecutor.shutdownNow();
+    }
+
+    private void attachPlan(int slot, SlowQuery entry, String sqlWithValues) {
+        String plan;
+        try {
+            plan = explainJdbcTemplate().execute((ConnectionCallback<String>) con -> explain(con, sqlWithValues));
+        } catch (RuntimeException e) {
+            plan = "실행 계획 조회 실패: " + e.getClass().getSimpleName(); // 메시지에 바인딩 값이 들어갈 수 있다.
+        }
+        // 그 사이 새 항목으로 덮어써졌으면 버린다.
+        buffer.compareAndSet(slot, entry, entry.withPlan(plan));
+    }
+
+    // 운영 트래픽을 받는 primary 대신 레플리카에서 실행한다. (레플리카가 없으면 기본 DataSource)
+    private JdbcTemplate explainJdbcTemplate() {
+        JdbcTemplate jdbcTemplate = explainJdbcTemplate;
+        if (jdbcTemplate == null) {
+            DataSource replica = replicaDataSourceProvider.getIfAvailable();
+            jdbcTemplate = replica != null ? new JdbcTemplate(replica) : jdbcTemplateProvider.getObject();
+            explainJdbcTemplate = jdbcTemplate;
+        }
+        return jdbcTemplate;
+    }
+
+    // ANALYZE 는 쿼리를 실제로 실행하므로 읽기 전용 트랜잭션 안에서 실행하고 롤백한다.
+    private String explain(Connection con, String sql) throws SQLException {
+        boolean autoCommit = con.getAutoCommit();
+        con.setAutoCommit(false);
+        try (Statement statement = con.createStatement()) {
+            statement.execute("set transaction read only");
+            statement.setQueryTimeout(30);
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rs = statement.executeQuery((explainAnalyze ? "explain (analyze, buffers) " : "explain ") + sql)) {
+                while (rs.next()) {
+                    plan.append(rs.getString(1)).append('\n');
+                }
+            }
+            return STRING_LITERAL.matcher(plan).replaceAll("'?'");
+        } finally {
+            con.rollback();
+            con.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static boolean isSelect(String sql) {
+        return sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select");
+    }
+
+    private static boolean isExplain(String sql) {
+        return sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("explain");
+    }
+
+    public record SlowQuery(long seq, Instant at, long elapsedMillis, String sql, String thread, String plan) {
+
+        SlowQuery withPlan(String plan) {
+            return new SlowQuery(seq, at, elapsedMillis, sql, thread, plan);
+        }
+    }
+
+}
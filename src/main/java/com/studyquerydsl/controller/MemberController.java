@@ -1,15 +1,28 @@
 package com.studyquerydsl.controller;
 
 import com.studyquerydsl.dto.MemberSearchCondition;
+import com.studyquerydsl.dto.MemberTeamColumns;
 import com.studyquerydsl.dto.MemberTeamDto;
+import com.studyquerydsl.dto.MemberTeamSlice;
+import com.studyquerydsl.repository.CountMode;
+import com.studyquerydsl.repository.MemberCountProvider;
 import com.studyquerydsl.repository.MemberJpaRepository;
 import com.studyquerydsl.repository.MemberRepository;
+import com.studyquerydsl.repository.UsernameMatch;
+import com.studyquerydsl.service.MemberExportService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
 
 @RestController
@@ -18,15 +31,87 @@ public class MemberController {
 
     private final MemberJpaRepository memberJpaRepository;
     private final MemberRepository memberRepository;
+    private final MemberExportService memberExportService;
+    private final MemberCountProvider memberCountProvider;
+
+    // /v2/members 의 content / count 쿼리를 동시에 실행할지 여부 (DB 왕복 지연이 큰 환경에서 유리)
+    @Value("${member.api.v2-members.parallel:false}")
+    private boolean v2Parallel;
+
+    @Value("${member.api.v2-members.parallel-timeout:5s}")
+    private Duration v2ParallelTimeout;
 
     @GetMapping("/v1/members")
     public List<MemberTeamDto> searchMemberV1(MemberSearchCondition condition) {
         return memberJpaRepository.search(condition);
     }
 
+    // v1 과 같은 응답이지만 결과를 컬럼별 배열로 담아서 row 마다 DTO 를 만들지 않는다. (대량 조회용)
+    @GetMapping("/v1/members/columns")
+    public MemberTeamColumns searchMemberColumnsV1(MemberSearchCondition condition) {
+        return memberRepository.searchColumns(condition);
+    }
+
+    // 이름 검색 (match: PREFIX | CONTAINS | FUZZY)
+    @GetMapping("/v1/members/username-search")
+    public List<MemberTeamDto> searchUsernameV1(@RequestParam String q,
+                                                @RequestParam(defaultValue = "PREFIX") UsernameMatch match,
+                                                @RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1 || limit > 1000) {
+            throw new IllegalArgumentException("limit는 1 ~ 1000 사이여야 합니다: " + limit);
+        }
+        return memberRepository.searchUsername(q, match, limit);
+    }
+
+    // v1 과 같은 검색이지만 List 로 모으지 않고 한 건씩 스트리밍 (format: ndjson | csv)
+    @GetMapping("/v1/members/export")
+    public ResponseEntity<StreamingResponseBody> exportMemberV1(MemberSearchCondition condition,
+                                                                @RequestParam(defaultValue = "ndjson") String format) {
+        if ("csv".equalsIgnoreCase(format)) {
+            return ResponseEntity.ok()
+                    .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=members.csv")
+                    .body(out -> memberExportService.exportCsv(condition, out));
+        }
+        if ("ndjson".equalsIgnoreCase(format)) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .body(out -> memberExportService.exportNdjson(condition, out));
+        }
+        throw new IllegalArgumentException("지원하지 않는 format 입니다: " + format);
+    }
+
+    // deferred=true : id 만 먼저 페이징한 뒤 해당 id 만 조회 (깊은 페이지용, member.id 순 정렬)
     @GetMapping("/v2/members")
-    public Page<MemberTeamDto> searchMemberV2(MemberSearchCondition condition, Pageable pageable) {
-        return memberRepository.searchPageComplex(condition, pageable);
+    public Page<MemberTeamDto> searchMemberV2(MemberSearchCondition condition, Pageable pageable,
+                                              @RequestParam(required = false) CountMode countMode,
+                                              @RequestParam(defaultValue = "false") boolean deferred) {
+        if (deferred) {
+            return memberRepository.searchPageDeferred(condition, pageable, countMode);
+        }
+        // 병렬 실행은 매번 정확한 count 를 하는 경우에만 (member.count.mode 가 CACHED / ESTIMATED 면 그 설정을 따른다)
+        CountMode resolved = countMode != null ? countMode : memberCountProvider.getDefaultMode();
+        if (v2Parallel && resolved == CountMode.EXACT) {
+            return memberRepository.searchPageParallel(condition, pageable, v2ParallelTimeout);
+        }
+        return memberRepository.searchPageComplex(condition, pageable, resolved);
+    }
+
+    // 커서 기반 페이징: 응답의 nextCursor를 다음 요청의 cursor로 그대로 넘긴다.
+    @GetMapping("/v3/members")
+    public MemberTeamSlice searchMemberV3(MemberSearchCondition condition,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(defaultValue = "20") int size) {
+        if (size < 1 || size > 1000) {
+            throw new IllegalArgumentException("size는 1 ~ 1000 사이여야 합니다: " + size);
+        }
+        return memberRepository.searchSlice(condition, cursor, size);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public String badRequest(IllegalArgumentException e) {
+        return e.getMessage();
     }
 
 }
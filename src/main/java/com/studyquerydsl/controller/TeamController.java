@@ -0,0 +1,47 @@
+package com.studyquerydsl.controller;
+
+import com.studyquerydsl.dto.TeamCacheStatsDto;
+import com.studyquerydsl.entity.Team;
+import com.studyquerydsl.repository.TeamNameResolver;
+import com.studyquerydsl.repository.TeamStatsRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+public class TeamController {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final TeamNameResolver teamNameResolver;
+    private final TeamStatsRepository teamStatsRepository;
+
+    // 팀별 회원 수 / 나이 집계 (스냅샷, refreshedAt 기준)
+    @GetMapping("/v1/teams/stats")
+    public TeamStatsRepository.TeamStatsSnapshot stats() {
+        return teamStatsRepository.getStats();
+    }
+
+    @GetMapping("/v1/teams/cache-stats")
+    public TeamCacheStatsDto cacheStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(Team.class.getName());
+
+        TeamCacheStatsDto stats = new TeamCacheStatsDto();
+        stats.setStatisticsEnabled(statistics.isStatisticsEnabled());
+        if (region != null) {
+            stats.setRegionHitCount(region.getHitCount());
+            stats.setRegionMissCount(region.getMissCount());
+            stats.setRegionPutCount(region.getPutCount());
+            stats.setRegionElementCount(region.getElementCountInMemory());
+        }
+        stats.setResolverHitCount((long) teamNameResolver.getHitCount());
+        stats.setResolverMissCount((long) teamNameResolver.getMissCount());
+        return stats;
+    }
+
+}
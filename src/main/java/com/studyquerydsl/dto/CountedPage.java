@@ -0,0 +1,22 @@
+package com.studyquerydsl.dto;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+// totalElements 가 정확한 값인지, 추정치/캐시값인지 응답에 함께 내려준다.
+public class CountedPage<T> extends PageImpl<T> {
+
+    private final boolean totalExact;
+
+    public CountedPage(List<T> content, Pageable pageable, long total, boolean totalExact) {
+        super(content, pageable, total);
+        this.totalExact = totalExact;
+    }
+
+    public boolean isTotalExact() {
+        return totalExact;
+    }
+
+}
@@ -1,6 +1,7 @@
 package com.studyquerydsl.dto;
 
 import lombok.Data;
+import org.springframework.util.StringUtils;
 
 @Data
 public class MemberSearchCondition {
@@ -13,4 +14,18 @@ public class MemberSearchCondition {
 
     private Integer ageLoe;
 
+    // 캐시 키 등으로 쓸 때 "" 와 null 을 같은 조건(조건 없음)으로 취급하기 위한 복사본
+    public MemberSearchCondition normalize() {
+        MemberSearchCondition normalized = new MemberSearchCondition();
+        normalized.setUsername(StringUtils.hasText(username) ? username : null);
+        normalized.setTeamName(StringUtils.hasText(teamName) ? teamName : null);
+        normalized.setAgeGoe(ageGoe);
+        normalized.setAgeLoe(ageLoe);
+        return normalized;
+    }
+
+    public boolean isEmpty() {
+        return !StringUtils.hasText(username) && !StringUtils.hasText(teamName) && ageGoe == null && ageLoe == null;
+    }
+
 }
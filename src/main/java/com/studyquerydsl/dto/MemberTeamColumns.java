@@ -0,0 +1,153 @@
+package com.studyquerydsl.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 대량 검색 결과를 row 객체(MemberTeamDto) 없이 컬럼별 배열로 보관한다.
+// id / age 는 원시 타입 배열, teamName 은 종류가 적으므로 사전(dictionary) 인코딩해서 row 마다 int 코드만 저장한다.
+// JSON 은 MemberTeamDto 목록과 같은 모양으로 직렬화된다. (MemberTeamColumnsSerializer)
+@JsonSerialize(using = MemberTeamColumnsSerializer.class)
+public final class MemberTeamColumns {
+
+    private static final int NO_TEAM_NAME = -1;
+
+    private final int size;
+    private final long[] ids;
+    private final String[] usernames;
+    private final int[] ages;
+    private final long[] teamIds;
+    private final BitSet teamIdNulls;
+    private final int[] teamNameCodes;
+    private final String[] teamNameDictionary;
+
+    private MemberTeamColumns(Builder builder) {
+        this.size = builder.size;
+        this.ids = Arrays.copyOf(builder.ids, size);
+        this.usernames = Arrays.copyOf(builder.usernames, size);
+        this.ages = Arrays.copyOf(builder.ages, size);
+        this.teamIds = Arrays.copyOf(builder.teamIds, size);
+        this.teamIdNulls = (BitSet) builder.teamIdNulls.clone();
+        this.teamNameCodes = Arrays.copyOf(builder.teamNameCodes, size);
+        this.teamNameDictionary = builder.dictionary.toArray(new String[0]);
+    }
+
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getId(int row) {
+        return ids[row];
+    }
+
+    public String getUsername(int row) {
+        return usernames[row];
+    }
+
+    public int getAge(int row) {
+        return ages[row];
+    }
+
+    public boolean hasTeamId(int row) {
+        return !teamIdNulls.get(row);
+    }
+
+    // hasTeamId 가 false 이면 의미 없는 값(0)
+    public long getTeamId(int row) {
+        return teamIds[row];
+    }
+
+    public String getTeamName(int row) {
+        int code = teamNameCodes[row];
+        return code == NO_TEAM_NAME ? null : teamNameDictionary[code];
+    }
+
+    public int getTeamNameCode(int row) {
+        return teamNameCodes[row];
+    }
+
+    public String[] getTeamNameDictionary() {
+        return teamNameDictionary.clone();
+    }
+
+    // 필요한 곳에서만 row 객체로 변환 (테스트, 기존 API 와의 비교용)
+    public MemberTeamDto toDto(int row) {
+        return new MemberTeamDto(ids[row], usernames[row], ages[row],
+                hasTeamId(row) ? teamIds[row] : null, getTeamName(row));
+    }
+
+    public static final class Builder {
+
+        private int size;
+        private long[] ids;
+        private String[] usernames;
+        private int[] ages;
+        private long[] teamIds;
+        private final BitSet teamIdNulls = new BitSet();
+        private int[] teamNameCodes;
+        private final List<String> dictionary = new ArrayList<>();
+        private final Map<String, Integer> dictionaryCodes = new HashMap<>();
+
+        private Builder(int expectedSize) {
+            int capacity = Math.max(16, expectedSize);
+            this.ids = new long[capacity];
+            this.usernames = new String[capacity];
+            this.ages = new int[capacity];
+            this.teamIds = new long[capacity];
+            this.teamNameCodes = new int[capacity];
+        }
+
+        // teamId 가 없으면 hasTeamId = false 로 넘긴다. (JDBC ResultSet.wasNull 과 같은 방식)
+        public Builder add(long id, String username, int age, long teamId, boolean hasTeamId, String teamName) {
+            if (size == ids.length) {
+                grow();
+            }
+            ids[size] = id;
+            usernames[size] = username;
+            ages[size] = age;
+            teamIds[size] = teamId;
+            if (!hasTeamId) {
+                teamIdNulls.set(size);
+            }
+            teamNameCodes[size] = encode(teamName);
+            size++;
+            return this;
+        }
+
+        public MemberTeamColumns build() {
+            return new MemberTeamColumns(this);
+        }
+
+        private int encode(String teamName) {
+            if (teamName == null) {
+                return NO_TEAM_NAME;
+            }
+            Integer code = dictionaryCodes.get(teamName);
+            if (code == null) {
+                code = dictionary.size();
+                dictionary.add(teamName);
+                dictionaryCodes.put(teamName, code);
+            }
+            return code;
+        }
+
+        private void grow() {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            usernames = Arrays.copyOf(usernames, capacity);
+            ages = Arrays.copyOf(ages, capacity);
+            teamIds = Arrays.copyOf(teamIds, capacity);
+            teamNameCodes = Arrays.copyOf(teamNameCodes, capacity);
+        }
+    }
+
+}
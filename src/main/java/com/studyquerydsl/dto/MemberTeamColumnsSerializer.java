@@ -0,0 +1,69 @@
+package com.studyquerydsl.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+// MemberTeamColumns 를 MemberTeamDto 목록과 같은 JSON 으로 쓴다. row 객체를 만들지 않고 배열에서 바로 쓴다.
+// [{"id":1,"username":"member1","age":10,"teamId":1,"teamName":"teamA"}, ...]
+public class MemberTeamColumnsSerializer extends StdSerializer<MemberTeamColumns> {
+
+    // 필드명은 미리 인코딩해 두고 재사용
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString USERNAME = new SerializedString("username");
+    private static final SerializableString AGE = new SerializedString("age");
+    private static final SerializableString TEAM_ID = new SerializedString("teamId");
+    private static final SerializableString TEAM_NAME = new SerializedString("teamName");
+
+    public MemberTeamColumnsSerializer() {
+        super(MemberTeamColumns.class);
+    }
+
+    @Override
+    public void serialize(MemberTeamColumns columns, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        // 팀 이름도 사전 단위로 한 번만 인코딩
+        String[] dictionary = columns.getTeamNameDictionary();
+        SerializableString[] teamNames = new SerializableString[dictionary.length];
+        for (int i = 0; i < dictionary.length; i++) {
+            teamNames[i] = new SerializedString(dictionary[i]);
+        }
+
+        int size = columns.size();
+        gen.writeStartArray(columns, size);
+        for (int row = 0; row < size; row++) {
+            gen.writeStartObject();
+
+            gen.writeFieldName(ID);
+            gen.writeNumber(columns.getId(row));
+
+            gen.writeFieldName(USERNAME);
+            gen.writeString(columns.getUsername(row));
+
+            gen.writeFieldName(AGE);
+            gen.writeNumber(columns.getAge(row));
+
+            gen.writeFieldName(TEAM_ID);
+            if (columns.hasTeamId(row)) {
+                gen.writeNumber(columns.getTeamId(row));
+            } else {
+                gen.writeNull();
+            }
+
+            gen.writeFieldName(TEAM_NAME);
+            int code = columns.getTeamNameCode(row);
+            if (code < 0) {
+                gen.writeNull();
+            } else {
+                gen.writeString(teamNames[code]);
+            }
+
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+    }
+
+}
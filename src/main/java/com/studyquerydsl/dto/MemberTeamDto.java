@@ -2,8 +2,10 @@ package com.studyquerydsl.dto;
 
 import com.querydsl.core.annotations.QueryProjection;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
 public class MemberTeamDto {
 
     private Long id;
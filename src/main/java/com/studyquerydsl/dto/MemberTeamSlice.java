@@ -0,0 +1,61 @@
+package com.studyquerydsl.dto;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+// 커서(keyset) 기반 페이징 결과. offset 없이 마지막으로 조회한 member.id 다음부터 조회한다.
+@Getter
+public class MemberTeamSlice {
+
+    private static final String CURSOR_PREFIX = "id:";
+
+    private final List<MemberTeamDto> content;
+
+    private final String nextCursor; // 클라이언트는 내용을 해석하지 않고 그대로 다시 넘긴다.
+
+    private final boolean hasNext;
+
+    private MemberTeamSlice(List<MemberTeamDto> content, String nextCursor, boolean hasNext) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+
+    // size + 1 건을 조회한 결과를 받아서 다음 페이지 존재 여부를 판단한다.
+    public static MemberTeamSlice of(List<MemberTeamDto> fetched, int size) {
+        boolean hasNext = fetched.size() > size;
+        List<MemberTeamDto> content = hasNext ? fetched.subList(0, size) : fetched;
+        String nextCursor = hasNext ? encodeCursor(content.get(content.size() - 1).getId()) : null;
+        return new MemberTeamSlice(content, nextCursor, hasNext);
+    }
+
+    public static String encodeCursor(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // null 또는 빈 커서는 첫 페이지
+    public static Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다: " + cursor, e);
+        }
+        if (!decoded.startsWith(CURSOR_PREFIX)) {
+            throw new IllegalArgumentException("잘못된 커서입니다: " + cursor);
+        }
+        try {
+            return Long.parseLong(decoded.substring(CURSOR_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다: " + cursor, e);
+        }
+    }
+
+}
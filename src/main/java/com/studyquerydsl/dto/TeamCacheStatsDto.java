@@ -0,0 +1,24 @@
+package com.studyquerydsl.dto;
+
+import lombok.Data;
+
+@Data
+public class TeamCacheStatsDto {
+
+    private boolean statisticsEnabled; // hibernate.generate_statistics 가 꺼져 있으면 2차 캐시 수치는 0
+
+    // 2차 캐시 (Team 리전)
+    private long regionHitCount;
+
+    private long regionMissCount;
+
+    private long regionPutCount;
+
+    private long regionElementCount;
+
+    // 팀명 -> id 리졸버
+    private long resolverHitCount;
+
+    private long resolverMissCount;
+
+}
@@ -0,0 +1,37 @@
+package com.studyquerydsl.dto;
+
+import com.querydsl.core.annotations.QueryProjection;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 팀별 회원 수 / 나이 합계, 평균, 최대, 최소 (TeamStatsRepository)
+@Data
+@NoArgsConstructor
+public class TeamStatsDto {
+
+    private Long teamId;
+
+    private String teamName;
+
+    private long memberCount;
+
+    private long ageSum;
+
+    private double ageAvg;
+
+    private int ageMax;
+
+    private int ageMin;
+
+    @QueryProjection
+    public TeamStatsDto(Long teamId, String teamName, long memberCount, long ageSum, double ageAvg, int ageMax, int ageMin) {
+        this.teamId = teamId;
+        this.teamName = teamName;
+        this.memberCount = memberCount;
+        this.ageSum = ageSum;
+        this.ageAvg = ageAvg;
+        this.ageMax = ageMax;
+        this.ageMin = ageMin;
+    }
+
+}
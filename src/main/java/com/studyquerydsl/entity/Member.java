@@ -1,5 +1,6 @@
 package com.studyquerydsl.entity;
 
+import com.studyquerydsl.entity.event.MemberEntityListener;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -8,12 +9,23 @@ import lombok.ToString;
 
 @Getter
 @Entity
+// 검색 조건(usernameEq / teamNameEq -> team_id in / ageGoe, ageLoe)별 인덱스. 운영 DB 는 Flyway(V2)로 같은 인덱스를 만든다.
+@Table(indexes = {
+        @Index(name = "idx_member_username", columnList = "username"),
+        @Index(name = "idx_member_team_id_age", columnList = "team_id, age"),
+        @Index(name = "idx_member_age", columnList = "age")
+})
+@EntityListeners(MemberEntityListener.class)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "username", "age"})
 public class Member {
 
+    // 시퀀스를 한 번 호출할 때마다 id 를 50개씩 확보한다. (pooled optimizer, MemberBulkLoader 의 COPY 경로도 같은 규칙 사용)
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq_generator")
+    @SequenceGenerator(name = "member_seq_generator", sequenceName = "member_seq", allocationSize = ID_ALLOCATION_SIZE)
     @Column(name = "member_id")
     private Long id;
     private String username;
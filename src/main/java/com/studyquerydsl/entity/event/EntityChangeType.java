@@ -0,0 +1,5 @@
+package com.studyquerydsl.entity.event;
+
+public enum EntityChangeType {
+    PERSIST, UPDATE, REMOVE
+}
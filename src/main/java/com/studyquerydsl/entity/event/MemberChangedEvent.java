@@ -0,0 +1,18 @@
+package com.studyquerydsl.entity.event;
+
+import com.studyquerydsl.entity.Member;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+// 엔티티를 통한 회원 변경 이벤트. 벌크 연산(update/delete 쿼리)은 영속성 컨텍스트를 거치지 않으므로 발생하지 않는다.
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class MemberChangedEvent {
+
+    private final Member member;
+
+    private final EntityChangeType type;
+
+}
@@ -0,0 +1,37 @@
+package com.studyquerydsl.entity.event;
+
+import com.studyquerydsl.entity.Member;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+
+// 스프링 부트가 Hibernate에 SpringBeanContainer를 등록해주기 때문에 엔티티 리스너도 빈 주입을 받을 수 있다.
+public class MemberEntityListener {
+
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
+    @PostPersist
+    public void postPersist(Member member) {
+        publish(member, EntityChangeType.PERSIST);
+    }
+
+    @PostUpdate
+    public void postUpdate(Member member) {
+        publish(member, EntityChangeType.UPDATE);
+    }
+
+    @PostRemove
+    public void postRemove(Member member) {
+        publish(member, EntityChangeType.REMOVE);
+    }
+
+    private void publish(Member member, EntityChangeType type) {
+        if (publisher != null) {
+            publisher.publishEvent(new MemberChangedEvent(member, type));
+        }
+    }
+
+}
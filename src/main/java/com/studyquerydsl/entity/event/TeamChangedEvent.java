@@ -0,0 +1,18 @@
+package com.studyquerydsl.entity.event;
+
+import com.studyquerydsl.entity.Team;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+// 엔티티를 통한 팀 변경 이벤트
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class TeamChangedEvent {
+
+    private final Team team;
+
+    private final EntityChangeType type;
+
+}
@@ -0,0 +1,36 @@
+package com.studyquerydsl.entity.event;
+
+import com.studyquerydsl.entity.Team;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+
+public class TeamEntityListener {
+
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
+    @PostPersist
+    public void postPersist(Team team) {
+        publish(team, EntityChangeType.PERSIST);
+    }
+
+    @PostUpdate
+    public void postUpdate(Team team) {
+        publish(team, EntityChangeType.UPDATE);
+    }
+
+    @PostRemove
+    public void postRemove(Team team) {
+        publish(team, EntityChangeType.REMOVE);
+    }
+
+    private void publish(Team team, EntityChangeType type) {
+        if (publisher != null) {
+            publisher.publishEvent(new TeamChangedEvent(team, type));
+        }
+    }
+
+}
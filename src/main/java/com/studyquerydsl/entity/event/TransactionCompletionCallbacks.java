@@ -0,0 +1,60 @@
+package com.studyquerydsl.entity.event;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+// 엔티티 이벤트마다 TransactionSynchronization 을 등록하면 대량 insert 시 트랜잭션이 끝날 때까지 계속 쌓이므로,
+// key 별로 트랜잭션당 한 번만 등록한다. 트랜잭션이 없으면 바로 실행한다.
+public final class TransactionCompletionCallbacks {
+
+    private TransactionCompletionCallbacks() {
+    }
+
+    public static void runOnceAfterCompletion(Object key, Runnable callback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            callback.run();
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(key)) {
+            return; // 이미 이번 트랜잭션에 등록됨
+        }
+        TransactionSynchronizationManager.bindResource(key, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(key);
+                callback.run();
+            }
+        });
+    }
+
+    // runOnceAfterCompletion 과 같지만 트랜잭션 동안 넘어온 값을 모아 두었다가 종료 후 한 번에 넘긴다.
+    // key 는 runOnceAfterCompletion 에 쓰는 key 와 겹치지 않아야 한다.
+    @SuppressWarnings("unchecked")
+    public static <T> void collectUntilCompletion(Object key, Collection<? extends T> values, Consumer<Set<T>> callback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            callback.accept(new HashSet<>(values));
+            return;
+        }
+        Set<T> collected = (Set<T>) TransactionSynchronizationManager.getResource(key);
+        if (collected == null) {
+            Set<T> created = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(key, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(key);
+                    callback.accept(created);
+                }
+            });
+            collected = created;
+        }
+        collected.addAll(values);
+    }
+
+}
@@ -0,0 +1,8 @@
+package com.studyquerydsl.repository;
+
+// 페이징 count 쿼리 전략
+public enum CountMode {
+    EXACT,     // 매번 count 쿼리 실행 (기존 방식)
+    CACHED,    // 정규화된 검색 조건별로 TTL 동안 캐시, 회원 변경 시 무효화
+    ESTIMATED  // PostgreSQL 플래너 추정치 사용 (추정치가 작으면 정확한 count로 대체)
+}
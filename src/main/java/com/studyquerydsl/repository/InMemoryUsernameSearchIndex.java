@@ -0,0 +1,199 @@
+package com.studyquerydsl.repository;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.studyquerydsl.entity.event.MemberChangedEvent;
+import com.studyquerydsl.entity.event.TransactionCompletionCallbacks;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static com.studyquerydsl.entity.QMember.member;
+
+// local 프로파일용 이름 검색 인덱스 (pg_trgm 이 없는 로컬 DB 에서도 같은 API 를 쓸 수 있도록)
+//   PREFIX   : 이름순 TreeMap 의 범위 조회
+//   CONTAINS : trigram -> id 목록으로 후보를 좁힌 뒤 실제 포함 여부 확인
+//   FUZZY    : pg_trgm 과 같은 방식의 trigram 유사도 (공통 / 합집합), 0.3 이상
+// 회원이 바뀌거나 invalidate() 가 호출되면 다음 검색 때 DB 에서 다시 만든다.
+@Component
+@Profile("local")
+public class InMemoryUsernameSearchIndex implements UsernameSearchIndex {
+
+    private static final double SIMILARITY_THRESHOLD = 0.3; // pg_trgm.similarity_threshold 기본값
+
+    private final JPAQueryFactory queryFactory;
+
+    private volatile Snapshot snapshot;
+    private volatile boolean dirty = true;
+
+    public InMemoryUsernameSearchIndex(JPAQueryFactory queryFactory) {
+        this.queryFactory = queryFactory;
+    }
+
+    @Override
+    public List<Long> search(String term, UsernameMatch match, int limit) {
+        Snapshot current = current();
+        return switch (match) {
+            case PREFIX -> current.prefix(term, limit);
+            case CONTAINS -> current.contains(term, limit);
+            case FUZZY -> current.fuzzy(term, limit);
+        };
+    }
+
+    @Override
+    public void invalidate() {
+        dirty = true;
+        TransactionCompletionCallbacks.runOnceAfterCompletion(this, () -> dirty = true);
+    }
+
+    @EventListener
+    public void onMemberChanged(MemberChangedEvent event) {
+        invalidate();
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null || dirty) {
+            dirty = false; // 다시 만드는 중에 바뀌면 다음 검색 때 한 번 더 만든다.
+            List<Tuple> rows = queryFactory
+                    .select(member.id, member.username)
+                    .from(member)
+                    .fetch();
+            current = new Snapshot(rows);
+            snapshot = current;
+        }
+        return current;
+    }
+
+    static Set<String> trigrams(String value) {
+        // pg_trgm 처럼 소문자로 바꾸고 앞에 공백 두 개, 뒤에 공백 하나를 붙여서 3글자씩 자른다.
+        String padded = "  " + value.toLowerCase(Locale.ROOT) + " ";
+        Set<String> result = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            result.add(padded.substring(i, i + 3));
+        }
+        return result;
+    }
+
+    private static final class Snapshot {
+
+        private final NavigableMap<String, List<Long>> idsByUsername = new TreeMap<>();
+        private final Map<Long, String> usernames = new HashMap<>();
+        private final Map<String, long[]> idsByTrigram = new HashMap<>();
+
+        Snapshot(List<Tuple> rows) {
+            Map<String, List<Long>> trigramIds = new HashMap<>();
+            for (Tuple row : rows) {
+                Long id = row.get(member.id);
+                String username = row.get(member.username);
+                if (username == null) {
+                    continue;
+                }
+                usernames.put(id, username);
+                idsByUsername.computeIfAbsent(username, key -> new ArrayList<>()).add(id);
+                for (String trigram : trigrams(username)) {
+                    trigramIds.computeIfAbsent(trigram, key -> new ArrayList<>()).add(id);
+                }
+            }
+            trigramIds.forEach((trigram, ids) -> idsByTrigram.put(trigram,
+                    ids.stream().mapToLong(Long::longValue).sorted().toArray()));
+        }
+
+        List<Long> prefix(String term, int limit) {
+            List<Long> result = new ArrayList<>();
+            for (List<Long> ids : idsByUsername.tailMap(term, true).values()) {
+                String username = usernames.get(ids.get(0));
+                if (!username.startsWith(term)) {
+                    break;
+                }
+                for (Long id : ids) {
+                    if (result.size() == limit) {
+                        return result;
+                    }
+                    result.add(id);
+                }
+            }
+            return result;
+        }
+
+        List<Long> contains(String term, int limit) {
+            // 검색어 안쪽의 trigram(앞뒤 공백이 붙지 않은 것)을 모두 가진 id 만 후보
+            long[] candidates = null;
+            String lower = term.toLowerCase(Locale.ROOT);
+            for (int i = 0; i + 3 <= lower.length(); i++) {
+                long[] ids = idsByTrigram.getOrDefault(lower.substring(i, i + 3), new long[0]);
+                candidates = candidates == null ? ids : intersect(candidates, ids);
+            }
+
+            List<Long> matched = new ArrayList<>();
+            if (candidates == null) { // 3글자 미만이면 전체 확인
+                for (Map.Entry<Long, String> entry : usernames.entrySet()) {
+                    if (entry.getValue().contains(term)) {
+                        matched.add(entry.getKey());
+                    }
+                }
+            } else {
+                for (long id : candidates) {
+                    if (usernames.get(id).contains(term)) {
+                        matched.add(id);
+                    }
+                }
+            }
+            matched.sort(Comparator.comparing((Long id) -> usernames.get(id)).thenComparing(id -> id));
+            return matched.size() > limit ? new ArrayList<>(matched.subList(0, limit)) : matched;
+        }
+
+        List<Long> fuzzy(String term, int limit) {
+            Set<String> termTrigrams = trigrams(term);
+            Map<Long, Integer> shared = new HashMap<>();
+            for (String trigram : termTrigrams) {
+                for (long id : idsByTrigram.getOrDefault(trigram, new long[0])) {
+                    shared.merge(id, 1, Integer::sum);
+                }
+            }
+
+            Map<Long, Double> scores = new HashMap<>();
+            shared.forEach((id, common) -> {
+                int total = termTrigrams.size() + trigrams(usernames.get(id)).size() - common;
+                double similarity = (double) common / total;
+                if (similarity >= SIMILARITY_THRESHOLD) {
+                    scores.put(id, similarity);
+                }
+            });
+
+            List<Long> matched = new ArrayList<>(scores.keySet());
+            matched.sort(Comparator.comparing((Long id) -> scores.get(id)).reversed().thenComparing(id -> id));
+            return matched.size() > limit ? new ArrayList<>(matched.subList(0, limit)) : matched;
+        }
+
+        private static long[] intersect(long[] a, long[] b) {
+            long[] result = new long[Math.min(a.length, b.length)];
+            int i = 0, j = 0, n = 0;
+            while (i < a.length && j < b.length) {
+                if (a[i] == b[j]) {
+                    result[n++] = a[i];
+                    i++;
+                    j++;
+                } else if (a[i] < b[j]) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            return Arrays.copyOf(result, n);
+        }
+    }
+
+}
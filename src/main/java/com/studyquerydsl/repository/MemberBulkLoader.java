@@ -0,0 +1,161 @@
+package com.studyquerydsl.repository;
+
+import com.studyquerydsl.entity.Member;
+import com.studyquerydsl.entity.Team;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+// 대량 회원 등록. em.persist 를 한 건씩 호출하는 대신
+// 1) load : JDBC batch insert + 주기적인 flush/clear
+// 2) copy : PostgreSQL COPY (가장 빠름, PostgreSQL 전용)
+@Repository
+public class MemberBulkLoader {
+
+    private static final String COPY_SQL = "COPY member (member_id, username, age, team_id) FROM STDIN WITH (FORMAT csv)";
+    private static final int COPY_CHUNK_SIZE = 10_000;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private final MemberCountProvider countProvider;
+    private final MemberSearchResultCache resultCache;
+    private final TeamStatsRepository teamStatsRepository;
+    private final UsernameSearchIndex usernameSearchIndex;
+    private final int batchSize;
+
+    public MemberBulkLoader(MemberCountProvider countProvider,
+                            MemberSearchResultCache resultCache,
+                            TeamStatsRepository teamStatsRepository,
+                            UsernameSearchIndex usernameSearchIndex,
+                            @Value("${member.bulk.batch-size:1000}") int batchSize) {
+        this.countProvider = countProvider;
+        this.resultCache = resultCache;
+        this.teamStatsRepository = teamStatsRepository;
+        this.usernameSearchIndex = usernameSearchIndex;
+        this.batchSize = batchSize;
+    }
+
+    public record MemberRow(String username, int age, Long teamId) {
+    }
+
+    @Transactional
+    public long load(Iterable<MemberRow> rows) {
+        return load(rows, batchSize);
+    }
+
+    @Transactional
+    public long load(Iterable<MemberRow> rows, int batchSize) {
+        Session session = em.unwrap(Session.class);
+        session.setJdbcBatchSize(batchSize);
+
+        long count = 0;
+        for (MemberRow row : rows) {
+            Team team = row.teamId() != null ? em.getReference(Team.class, row.teamId()) : null;
+            em.persist(new Member(row.username(), row.age(), team));
+            if (++count % batchSize == 0) {
+                // 영속성 컨텍스트에 엔티티가 계속 쌓이지 않도록 batch 단위로 내보내고 비운다.
+                em.flush();
+                em.clear();
+            }
+        }
+        em.flush();
+        em.clear();
+        return count;
+    }
+
+    // COPY 는 엔티티 리스너를 거치지 않으므로 count 캐시를 직접 무효화한다.
+    @Transactional
+    public long copy(Iterable<MemberRow> rows) {
+        Session session = em.unwrap(Session.class);
+        session.flush();
+
+        long count = session.doReturningWork(connection -> {
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            Iterator<MemberRow> iterator = rows.iterator();
+            long copied = 0;
+            List<MemberRow> chunk = new ArrayList<>(COPY_CHUNK_SIZE);
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == COPY_CHUNK_SIZE || !iterator.hasNext()) {
+                    copied += copyChunk(connection, copyManager, chunk);
+                    chunk.clear();
+                }
+            }
+            return copied;
+        });
+
+        countProvider.invalidate();
+        resultCache.invalidateAll();
+        teamStatsRepository.invalidate();
+        usernameSearchIndex.invalidate();
+        return count;
+    }
+
+    // COPY 도중에는 같은 커넥션으로 다른 쿼리를 실행할 수 없으므로, chunk 마다 id 를 먼저 확보한 뒤 COPY 한다.
+    private long copyChunk(Connection connection, CopyManager copyManager, List<MemberRow> chunk) throws SQLException {
+        Iterator<Long> ids = allocateIds(connection, chunk.size()).iterator();
+
+        StringBuilder csv = new StringBuilder(chunk.size() * 32);
+        for (MemberRow row : chunk) {
+            csv.append(ids.next()).append(',')
+                    .append(csvValue(row.username())).append(',')
+                    .append(row.age()).append(',')
+                    .append(row.teamId() != null ? row.teamId() : "")
+                    .append('\n');
+        }
+
+        try {
+            return copyManager.copyIn(COPY_SQL, new StringReader(csv.toString()));
+        } catch (IOException e) {
+            throw new SQLException("COPY 실패", e);
+        }
+    }
+
+    // Hibernate pooled optimizer 와 같은 규칙: nextval 이 v 이면 (v - allocationSize, v] 구간을 사용한다.
+    // (v 가 시작값 1 인 경우 Hibernate 는 다음 nextval 을 다시 호출하므로 1 만 사용)
+    private List<Long> allocateIds(Connection connection, int size) throws SQLException {
+        int allocationSize = Member.ID_ALLOCATION_SIZE;
+        int blocks = (size + allocationSize - 1) / allocationSize + 1; // 시작값 블록 대비 여유분
+
+        List<Long> ids = new ArrayList<>(size);
+        try (PreparedStatement ps = connection.prepareStatement("select nextval('member_seq') from generate_series(1, ?)")) {
+            ps.setInt(1, blocks);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next() && ids.size() < size) {
+                    long hi = rs.getLong(1);
+                    for (long id = Math.max(1, hi - allocationSize + 1); id <= hi && ids.size() < size; id++) {
+                        ids.add(id);
+                    }
+                }
+            }
+        }
+        if (ids.size() < size) {
+            throw new SQLException("member_seq 에서 id 를 충분히 확보하지 못했습니다. size=" + size);
+        }
+        return ids;
+    }
+
+    private static String csvValue(String value) {
+        if (value == null) {
+            return "";
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+}
@@ -0,0 +1,187 @@
+package com.studyquerydsl.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.studyquerydsl.dto.CountedPage;
+import com.studyquerydsl.dto.MemberSearchCondition;
+import com.studyquerydsl.entity.event.MemberChangedEvent;
+import com.studyquerydsl.entity.event.TransactionCompletionCallbacks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Savepoint;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// searchPageComplex 의 count 쿼리 전략(CountMode)을 처리한다.
+@Slf4j
+@Component
+public class MemberCountProvider {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final CountMode defaultMode;
+    private final long estimateExactThreshold;
+
+    // 조건 조합이 폭증해도 cache-max-entries 를 넘지 않도록 오래 안 쓴 조건부터 내보낸다.
+    private final Cache<MemberSearchCondition, Long> cache;
+
+    // count 도중 무효화가 일어났으면 그 값은 이미 오래된 값일 수 있으므로 캐시에 남기지 않는다. (MemberSearchResultCache 와 같은 방식)
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public MemberCountProvider(JdbcTemplate jdbcTemplate,
+                               ObjectMapper objectMapper,
+                               @Value("${member.count.mode:EXACT}") CountMode defaultMode,
+                               @Value("${member.count.cache-ttl:30s}") Duration cacheTtl,
+                               @Value("${member.count.cache-max-entries:1000}") int cacheMaxEntries,
+                               @Value("${member.count.estimate-exact-threshold:10000}") long estimateExactThreshold) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.defaultMode = defaultMode;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxEntries)
+                .expireAfterWrite(cacheTtl)
+                .build();
+        this.estimateExactThreshold = estimateExactThreshold;
+    }
+
+    public CountMode getDefaultMode() {
+        return defaultMode;
+    }
+
+    public <T> CountedPage<T> getPage(List<T> content, Pageable pageable, MemberSearchCondition condition,
+                                      CountMode mode, LongSupplier exactCount) {
+        // PageableExecutionUtils 가 content 크기만으로 total 을 알 수 있으면 count 자체를 생략한다. (이 경우 정확한 값)
+        AtomicBoolean exact = new AtomicBoolean(true);
+        Page<T> page = PageableExecutionUtils.getPage(content, pageable, () -> {
+            TotalCount total = count(condition, mode, exactCount);
+            exact.set(total.exact());
+            return total.value();
+        });
+        return new CountedPage<>(content, pageable, page.getTotalElements(), exact.get());
+    }
+
+    public TotalCount count(MemberSearchCondition condition, CountMode mode, LongSupplier exactCount) {
+        return switch (mode) {
+            case EXACT -> new TotalCount(exactCount.getAsLong(), true);
+            case CACHED -> cachedCount(condition, exactCount);
+            case ESTIMATED -> estimatedCount(condition, exactCount);
+        };
+    }
+
+    // 벌크 연산처럼 엔티티 이벤트가 발생하지 않는 변경 후에는 직접 호출해야 한다.
+    // 커밋 전에 다른 트랜잭션이 옛 값을 다시 캐시할 수 있으므로 트랜잭션 종료 후 한 번 더 제거한다.
+    public void invalidate() {
+        clear();
+        TransactionCompletionCallbacks.runOnceAfterCompletion(this, this::clear);
+    }
+
+    private void clear() {
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    @EventListener
+    public void onMemberChanged(MemberChangedEvent event) {
+        invalidate();
+    }
+
+    // 캐시에서 꺼낸 값은 최대 cache-ttl 만큼 오래된 값이므로 exact=false (방금 count 한 값만 exact)
+    private TotalCount cachedCount(MemberSearchCondition condition, LongSupplier exactCount) {
+        MemberSearchCondition key = condition.normalize();
+
+        Long cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return new TotalCount(cached, false);
+        }
+
+        // cache.get(key, loader) 안에서 count 하면 같은 키의 락을 잡은 채로 DB 를 기다리게 되므로 밖에서 조회
+        long before = invalidations.get();
+        long value = exactCount.getAsLong();
+        cache.put(key, value);
+        if (invalidations.get() != before) {
+            cache.asMap().remove(key, value);
+        }
+        return new TotalCount(value, true);
+    }
+
+    private TotalCount estimatedCount(MemberSearchCondition condition, LongSupplier exactCount) {
+        long estimate;
+        try {
+            estimate = inSavepoint(() -> condition.isEmpty() ? tableEstimate() : planEstimate(condition));
+        } catch (DataAccessException | IllegalStateException e) {
+            log.debug("count 추정 실패, 정확한 count 로 대체합니다. condition={}", condition, e);
+            return new TotalCount(exactCount.getAsLong(), true);
+        }
+
+        // 통계가 없거나(-1) 결과가 작으면 추정치가 부정확하고 count 비용도 작으므로 정확한 값 사용
+        if (estimate < estimateExactThreshold) {
+            return new TotalCount(exactCount.getAsLong(), true);
+        }
+        return new TotalCount(estimate, false);
+    }
+
+    // PostgreSQL 은 트랜잭션 안에서 문장이 실패하면 트랜잭션 전체가 aborted 상태가 되어 이후 count 도 실패한다.
+    // 호출한 쪽 트랜잭션이 있으면 savepoint 안에서 추정하고, 실패하면 savepoint 까지만 되돌린다.
+    private long inSavepoint(LongSupplier estimate) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return estimate.getAsLong();
+        }
+        Long value = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            Savepoint savepoint = connection.setSavepoint();
+            try {
+                long result = estimate.getAsLong();
+                connection.releaseSavepoint(savepoint);
+                return result;
+            } catch (RuntimeException e) {
+                connection.rollback(savepoint);
+                throw e;
+            }
+        });
+        return value != null ? value : -1;
+    }
+
+    // 조건이 없으면 통계 정보(reltuples)만 읽는다.
+    private long tableEstimate() {
+        Long reltuples = jdbcTemplate.queryForObject(
+                "select reltuples::bigint from pg_class where oid = 'member'::regclass", Long.class);
+        return reltuples != null ? reltuples : -1;
+    }
+
+    // 조건이 있으면 실행 계획의 예상 row 수를 읽는다. (실제 실행은 하지 않음)
+    private long planEstimate(MemberSearchCondition condition) {
+        MemberSearchSql searchSql = MemberSearchSql.of(condition);
+        String plan = jdbcTemplate.queryForObject(
+                "explain (format json) select 1 from member m left join team t on t.id = m.team_id" + searchSql.where(),
+                String.class, searchSql.params());
+        try {
+            JsonNode planRows = objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows");
+            if (!planRows.isNumber()) {
+                throw new IllegalStateException("실행 계획에서 Plan Rows 를 찾을 수 없습니다: " + plan);
+            }
+            return planRows.asLong();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("실행 계획 파싱 실패: " + plan, e);
+        }
+    }
+
+    public record TotalCount(long value, boolean exact) {
+    }
+
+}
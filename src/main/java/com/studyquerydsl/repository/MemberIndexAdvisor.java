@@ -0,0 +1,116 @@
+package com.studyquerydsl.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// /actuator/indexadvisor
+// RepositoryMetrics 에 쌓인 실제 호출(conditions 태그 = 검색 조건 조합)을 기준으로 member 테이블에 필요한 인덱스를 추천한다.
+//   username 있음          -> (username)          : 동등 조건, 선택도가 가장 높다.
+//   teamName 있음          -> (team_id, age)      : teamNameEq 는 team_id in (...) 로 바뀌고, 나이 범위가 뒤따른다.
+//   ageGoe / ageLoe 만 있음 -> (age)
+//   조건 없음              -> 인덱스로 줄일 수 없음 (전체 조회)
+//   이름 검색(match:*)     -> 제외 (V4 마이그레이션)
+// 이미 같은 선두 컬럼의 인덱스가 있으면 exists = true
+@Slf4j
+@Component
+@Endpoint(id = "indexadvisor")
+public class MemberIndexAdvisor {
+
+    private static final String USERNAME = "username";
+    private static final String TEAM_ID_AGE = "team_id, age";
+    private static final String AGE = "age";
+
+    private final MeterRegistry meterRegistry;
+    private final JdbcTemplate jdbcTemplate;
+
+    public MemberIndexAdvisor(MeterRegistry meterRegistry, JdbcTemplate jdbcTemplate) {
+        this.meterRegistry = meterRegistry;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @ReadOperation
+    public List<IndexRecommendation> advise() {
+        Map<String, IndexRecommendation> recommendations = new LinkedHashMap<>();
+        List<String> existing = existingIndexColumns();
+
+        for (Timer timer : meterRegistry.find(RepositoryMetrics.QUERY).timers()) {
+            String conditions = timer.getId().getTag("conditions");
+            String columns = indexFor(conditions);
+            if (columns == null) {
+                continue;
+            }
+            IndexRecommendation current = recommendations.computeIfAbsent(columns, key -> new IndexRecommendation(
+                    key,
+                    "create index concurrently if not exists idx_member_" + key.replace(", ", "_") + " on member (" + key + ")",
+                    existing.stream().anyMatch(index -> index.startsWith(key)),
+                    new ArrayList<>(), 0, 0));
+            if (!current.shapes().contains(conditions)) {
+                current.shapes().add(conditions);
+            }
+            recommendations.put(columns, current.add(timer.count(), timer.totalTime(TimeUnit.MILLISECONDS)));
+        }
+
+        List<IndexRecommendation> result = new ArrayList<>(recommendations.values());
+        result.sort(Comparator.comparingDouble(IndexRecommendation::totalMillis).reversed());
+        return result;
+    }
+
+    static String indexFor(String conditions) {
+        if (conditions == null || conditions.equals("none")) {
+            return null;
+        }
+        if (conditions.startsWith("match:")) {
+            return null; // 이름 검색은 V4 의 trgm / pattern_ops 인덱스를 사용
+        }
+        if (conditions.contains("username")) {
+            return USERNAME;
+        }
+        if (conditions.contains("teamName")) {
+            return TEAM_ID_AGE;
+        }
+        return AGE;
+    }
+
+    // pg_indexes.indexdef 의 "(컬럼, ...)" 부분 (PostgreSQL 이 아니거나 조회에 실패하면 빈 목록)
+    private List<String> existingIndexColumns() {
+        try {
+            List<String> definitions = jdbcTemplate.queryForList(
+                    "select indexdef from pg_indexes where tablename = 'member'", String.class);
+            List<String> columns = new ArrayList<>();
+            for (String definition : definitions) {
+                int open = definition.indexOf('(');
+                int close = definition.lastIndexOf(')');
+                if (open >= 0 && close > open) {
+                    columns.add(definition.substring(open + 1, close).toLowerCase(Locale.ROOT));
+                }
+            }
+            return columns;
+        } catch (DataAccessException e) {
+            log.debug("기존 인덱스 조회 실패", e);
+            return List.of();
+        }
+    }
+
+    public record IndexRecommendation(String columns, String ddl, boolean exists,
+                                      List<String> shapes, long calls, double totalMillis) {
+
+        IndexRecommendation add(long calls, double totalMillis) {
+            return new IndexRecommendation(columns, ddl, exists, shapes, this.calls + calls, this.totalMillis + totalMillis);
+        }
+    }
+
+}
@@ -10,10 +10,13 @@ import com.studyquerydsl.entity.Member;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static com.studyquerydsl.entity.QMember.member;
 import static com.studyquerydsl.entity.QTeam.team;
@@ -26,6 +29,9 @@ public class MemberJpaRepository {
     @PersistenceContext
     private EntityManager em;
     private final JPAQueryFactory queryFactory;
+    private final MemberSearchQueryCache searchQueryCache;
+    private final RepositoryMetrics repositoryMetrics;
+    private final MemberSearchResultCache resultCache;
 
     // JPAQueryFactory를 Spring Bean으로 등록 후, 바로 injection 받아도 된다.
     // 또한, @RequiredArgsConstructor 사용 가능해짐
@@ -62,9 +68,11 @@ public class MemberJpaRepository {
 
     // 이름으로 조회 - 순수 JPA
     public List<Member> findByUsername(String username) {
-        return em.createQuery("select m from Member m where m.username = :username", Member.class)
-                .setParameter("username", username)
-                .getResultList();
+        return repositoryMetrics.record("MemberJpaRepository.findByUsername", "username",
+                () -> em.createQuery("select m from Member m where m.username = :username", Member.class)
+                        .setParameter("username", username)
+                        .getResultList(),
+                List::size);
     }
 
     // 이름으로 조회 - querydsl
@@ -91,7 +99,7 @@ public class MemberJpaRepository {
             builder.and(member.age.loe(condition.getAgeLoe()));
         }
 
-        return queryFactory
+        return repositoryMetrics.record("MemberJpaRepository.searchByBuilder", condition, () -> queryFactory
                 .select(new QMemberTeamDto(
                         member.id.as("memberId"),
                         member.username,
@@ -102,10 +110,13 @@ public class MemberJpaRepository {
                 .from(member)
                 .leftJoin(member.team, team)
                 .where(builder)
-                .fetch();
+                .fetch());
     }
 
+    @Transactional(readOnly = true)
     public List<MemberTeamDto> search(MemberSearchCondition condition) {
+        // 매번 QueryDSL 표현식을 만들고 JPQL 로 직렬화하는 대신 조건 조합별로 캐시된 JPQL 사용
+        /*
         return queryFactory
                 .select(new QMemberTeamDto(
                         member.id.as("memberId"),
@@ -123,6 +134,33 @@ public class MemberJpaRepository {
                         ageLoe(condition.getAgeLoe())
                 )
                 .fetch();
+        */
+        return resultCache.search(condition,
+                () -> repositoryMetrics.record("MemberJpaRepository.search", condition, () -> searchQueryCache.search(condition)));
+    }
+
+    // 대량 조회용: 결과를 List 로 모으지 않고 forward-only 커서로 fetchSize 만큼씩 읽는다.
+    // 스트림을 다 읽을 때까지 커넥션을 사용하므로 트랜잭션 안에서 호출하고, 사용 후 반드시 close 해야 한다.
+    public Stream<MemberTeamDto> searchStream(MemberSearchCondition condition, int fetchSize) {
+        return queryFactory
+                .select(new QMemberTeamDto(
+                        member.id,
+                        member.username,
+                        member.age,
+                        team.id,
+                        team.name
+                ))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(
+                        usernameEq(condition.getUsername()),
+                        teamNameEq(condition.getTeamName()),
+                        ageGoe(condition.getAgeGoe()),
+                        ageLoe(condition.getAgeLoe())
+                )
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .stream();
     }
 
     private BooleanExpression ageBetween(Integer ageLoe, Integer ageGoe) {
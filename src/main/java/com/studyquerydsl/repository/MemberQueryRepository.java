@@ -1,60 +1,22 @@
 package com.studyquerydsl.repository;
 
-import com.querydsl.core.types.dsl.BooleanExpression;
-import com.querydsl.jpa.impl.JPAQueryFactory;
 import com.studyquerydsl.dto.MemberSearchCondition;
 import com.studyquerydsl.dto.MemberTeamDto;
-import com.studyquerydsl.dto.QMemberTeamDto;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
-import org.springframework.util.StringUtils;
 
 import java.util.List;
 
-import static com.studyquerydsl.entity.QMember.member;
-import static com.studyquerydsl.entity.QTeam.team;
-
 // 특정 API나 특정 화면만을 위한 특화된 기능, 또는 쿼리가 복잡한 등의 이유로 바로 인터페이스 상속이 아닌 구현체 클래스에서 구현하는 방법도 있다.
 @Repository
 @RequiredArgsConstructor
 public class MemberQueryRepository {
 
-    private final JPAQueryFactory queryFactory;
+    private final MemberSearchQueryCache searchQueryCache;
 
+    // 검색 쿼리는 MemberSearchQueryCache 에서 조건 조합별로 JPQL 을 한 번만 만들어 재사용한다.
     public List<MemberTeamDto> search(MemberSearchCondition condition) {
-        return queryFactory
-                .select(new QMemberTeamDto(
-                        member.id,
-                        member.username,
-                        member.age,
-                        team.id,
-                        team.name
-                ))
-                .from(member)
-                .leftJoin(member.team, team)
-                .where(
-                        usernameEq(condition.getUsername()),
-                        teamNameEq(condition.getTeamName()),
-                        ageGoe(condition.getAgeGoe()),
-                        ageLoe(condition.getAgeLoe())
-                )
-                .fetch();
-    }
-
-    private BooleanExpression usernameEq(String username) {
-        return StringUtils.hasText(username) ? member.username.eq(username) : null;
-    }
-
-    private BooleanExpression teamNameEq(String teamName) {
-        return StringUtils.hasText(teamName) ? team.name.eq(teamName) : null;
-    }
-
-    private BooleanExpression ageGoe(Integer ageGoe) {
-        return ageGoe != null ? member.age.goe(ageGoe) : null;
-    }
-
-    private BooleanExpression ageLoe(Integer ageLoe) {
-        return ageLoe != null ? member.age.loe(ageLoe) : null;
+        return searchQueryCache.search(condition);
     }
 
 }
@@ -1,10 +1,14 @@
 package com.studyquerydsl.repository;
 
+import com.studyquerydsl.dto.CountedPage;
 import com.studyquerydsl.dto.MemberSearchCondition;
+import com.studyquerydsl.dto.MemberTeamColumns;
 import com.studyquerydsl.dto.MemberTeamDto;
+import com.studyquerydsl.dto.MemberTeamSlice;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.Duration;
 import java.util.List;
 
 // 1. 사용자 정의 인터페이스 작성
@@ -12,6 +16,26 @@ public interface MemberRepositoryCustom {
 
     List<MemberTeamDto> search(MemberSearchCondition condition);
 
+    // search 와 같은 결과를 row 객체 없이 컬럼별 배열로 조회 (대량 조회용)
+    MemberTeamColumns searchColumns(MemberSearchCondition condition);
+
     Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition, Pageable pageable);
 
+    // count 전략 지정 (EXACT / CACHED / ESTIMATED)
+    CountedPage<MemberTeamDto> searchPageComplex(MemberSearchCondition condition, Pageable pageable, CountMode countMode);
+
+    // 2단계(deferred join) 페이징: 조건/정렬/offset/limit 을 member.id 만으로 먼저 찾고, 그 id 들만 조인해서 DTO 조회
+    // 깊은 페이지(큰 offset)에서 건너뛰는 row 들을 조인/전체 컬럼 없이 처리한다. 정렬은 member.id 오름차순, countMode 가 null 이면 기본 전략
+    CountedPage<MemberTeamDto> searchPageDeferred(MemberSearchCondition condition, Pageable pageable, CountMode countMode);
+
+    // content 쿼리와 count 쿼리를 각각 별도의 읽기 전용 트랜잭션(커넥션)에서 동시에 실행
+    CountedPage<MemberTeamDto> searchPageParallel(MemberSearchCondition condition, Pageable pageable, Duration timeout);
+
+    // 이름 검색 (PREFIX / CONTAINS / FUZZY). 결과 순서는 UsernameSearchIndex 구현이 정한다.
+    // like '%x%' 대신 pg_trgm GIN 인덱스(local 프로파일은 메모리 인덱스)를 사용한다.
+    List<MemberTeamDto> searchUsername(String term, UsernameMatch match, int limit);
+
+    // 커서 기반(keyset) 페이징: offset 대신 마지막 id 다음부터 조회
+    MemberTeamSlice searchSlice(MemberSearchCondition condition, String cursor, int size);
+
 }
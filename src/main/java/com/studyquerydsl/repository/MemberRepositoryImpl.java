@@ -3,18 +3,34 @@ package com.studyquerydsl.repository;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.studyquerydsl.dto.CountedPage;
 import com.studyquerydsl.dto.MemberSearchCondition;
+import com.studyquerydsl.dto.MemberTeamColumns;
 import com.studyquerydsl.dto.MemberTeamDto;
+import com.studyquerydsl.dto.MemberTeamSlice;
 import com.studyquerydsl.dto.QMemberTeamDto;
+import com.studyquerydsl.repository.support.OptionalJoins;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static com.studyquerydsl.entity.QMember.member;
 import static com.studyquerydsl.entity.QTeam.team;
@@ -23,32 +39,134 @@ import static com.studyquerydsl.entity.QTeam.team;
 @RequiredArgsConstructor
 public class MemberRepositoryImpl implements MemberRepositoryCustom {
 
+    // 조회 컬럼/조건/정렬에서 team 을 참조할 때만 붙이는 조인
+    private static final OptionalJoins memberJoins = OptionalJoins.create()
+            .leftJoin(member.team, team);
+
+    // searchColumns 가 한 번에 받아오는 row 수 (RowQueryExecutor 와 같은 값)
+    private static final int COLUMNS_FETCH_SIZE = 1_000;
+
     private final JPAQueryFactory queryFactory;
+    private final MemberCountProvider countProvider;
+    private final MemberSearchQueryCache searchQueryCache;
+    private final TeamNameResolver teamNameResolver;
+    private final ReadOnlyQueryExecutor readOnlyQueryExecutor;
+    private final JdbcTemplate jdbcTemplate;
+    private final RepositoryMetrics repositoryMetrics;
+    private final UsernameSearchIndex usernameSearchIndex;
+    private final MemberSearchResultCache resultCache;
 
     @Override
+    @Transactional(readOnly = true) // 레플리카 라우팅 대상
     public List<MemberTeamDto> search(MemberSearchCondition condition) {
-        return queryFactory
-                .select(new QMemberTeamDto(
-                        member.id,
-                        member.username,
-                        member.age,
-                        team.id,
-                        team.name
-                ))
+        // 조건 조합별로 미리 직렬화해 둔 JPQL 에 파라미터만 바인딩 (같은 조건의 결과는 resultCache 에서)
+        return resultCache.search(condition,
+                () -> repositoryMetrics.record("MemberRepository.search", condition, () -> searchQueryCache.search(condition)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public MemberTeamColumns searchColumns(MemberSearchCondition condition) {
+        // 엔티티/DTO 를 거치지 않고 ResultSet 에서 바로 원시 타입 배열에 채운다.
+        MemberSearchSql searchSql = MemberSearchSql.of(condition);
+        MemberTeamColumns.Builder columns = MemberTeamColumns.builder(1024);
+        String sql = "select m.member_id, m.username, m.age, t.id, t.name" +
+                " from member m left join team t on t.id = m.team_id" + searchSql.where();
+        // PostgreSQL 드라이버는 fetchSize 가 없으면 결과 전체를 메모리에 올린다.
+        // 트랜잭션 안(autocommit off)에서 fetchSize 를 주면 서버 커서로 나눠서 받는다. (MemberExportService 와 같은 방식)
+        jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement ps = connection.prepareStatement(sql);
+                    ps.setFetchSize(COLUMNS_FETCH_SIZE);
+                    new ArgumentPreparedStatementSetter(searchSql.params()).setValues(ps);
+                    return ps;
+                },
+                rs -> {
+                    long teamId = rs.getLong(4);
+                    boolean hasTeamId = !rs.wasNull();
+                    columns.add(rs.getLong(1), rs.getString(2), rs.getInt(3), teamId, hasTeamId, rs.getString(5));
+                });
+        return columns.build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition, Pageable pageable) {
+        return searchPageComplex(condition, pageable, countProvider.getDefaultMode());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CountedPage<MemberTeamDto> searchPageComplex(MemberSearchCondition condition, Pageable pageable, CountMode countMode) {
+        return resultCache.searchPage(condition, pageable, countMode,
+                () -> repositoryMetrics.record("MemberRepository.searchPageComplex", RepositoryMetrics.conditionTag(condition),
+                        () -> searchPageComplexInternal(condition, pageable, countMode), Page::getNumberOfElements));
+    }
+
+    private CountedPage<MemberTeamDto> searchPageComplexInternal(MemberSearchCondition condition, Pageable pageable, CountMode countMode) {
+        List<MemberTeamDto> content = pageContentQuery(condition, pageable).fetch();
+        // .fetchResults(); // 페이징 + 카운트 쿼리인데 deprecated됨. 따로 count 쿼리를 구성해야 함.
+
+        // count 쿼리 최적화 가능
+        JPAQuery<Long> countQuery = pageCountQuery(condition);
+
+        // countQuery.fetchOne(); // 이거를
+
+        // return PageableExecutionUtils.getPage(content, pageable, countQuery::fetchOne); // 이렇게 넘김
+        // count 쿼리 생략 여부는 동일하게 PageableExecutionUtils 로 판단하고, 실제 count 는 countMode 에 따라 처리
+        return countProvider.getPage(content, pageable, condition, countMode, countQuery::fetchOne);
+
+        // return new PageImpl<>(content, pageable, Optional.ofNullable(total).orElse(0L));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CountedPage<MemberTeamDto> searchPageDeferred(MemberSearchCondition condition, Pageable pageable, CountMode countMode) {
+        return repositoryMetrics.record("MemberRepository.searchPageDeferred", RepositoryMetrics.conditionTag(condition),
+                () -> searchPageDeferredInternal(condition, pageable, countMode), Page::getNumberOfElements);
+    }
+
+    private CountedPage<MemberTeamDto> searchPageDeferredInternal(MemberSearchCondition condition, Pageable pageable, CountMode countMode) {
+        // 1단계: member 단일 테이블에서 id 만 (teamIdIn 을 쓰므로 team 조인 없음)
+        List<Long> ids = queryFactory
+                .select(member.id)
                 .from(member)
-                .leftJoin(member.team, team)
                 .where(
                         usernameEq(condition.getUsername()),
-                        teamNameEq(condition.getTeamName()),
+                        teamIdIn(condition.getTeamName()),
                         ageGoe(condition.getAgeGoe()),
                         ageLoe(condition.getAgeLoe())
                 )
+                .orderBy(member.id.asc())
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
                 .fetch();
+
+        // 2단계: 찾은 id 만 조인해서 DTO 조회 후 1단계 순서대로 정렬
+        List<MemberTeamDto> content = fetchByIdsInOrder(ids);
+
+        JPAQuery<Long> countQuery = pageCountQuery(condition);
+        return countProvider.getPage(content, pageable, condition,
+                countMode != null ? countMode : countProvider.getDefaultMode(), countQuery::fetchOne);
     }
 
     @Override
-    public Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition, Pageable pageable) {
-        List<MemberTeamDto> content = queryFactory
+    @Transactional(readOnly = true)
+    public List<MemberTeamDto> searchUsername(String term, UsernameMatch match, int limit) {
+        if (!StringUtils.hasText(term)) {
+            return List.of();
+        }
+        return repositoryMetrics.record("MemberRepository.searchUsername", RepositoryMetrics.matchTag(match),
+                () -> fetchByIdsInOrder(usernameSearchIndex.search(term, match, limit)), List::size);
+    }
+
+    // id 목록 순서대로 DTO 조회 (두 쿼리 사이에 삭제된 id 는 빠진다)
+    private List<MemberTeamDto> fetchByIdsInOrder(List<Long> ids) {
+        List<MemberTeamDto> content = new ArrayList<>(ids.size());
+        if (ids.isEmpty()) {
+            return content;
+        }
+        List<MemberTeamDto> rows = queryFactory
                 .select(new QMemberTeamDto(
                         member.id,
                         member.username,
@@ -58,34 +176,118 @@ public class MemberRepositoryImpl implements MemberRepositoryCustom {
                 ))
                 .from(member)
                 .leftJoin(member.team, team)
-                .where(
-                        usernameEq(condition.getUsername()),
-                        teamNameEq(condition.getTeamName()),
-                        ageGoe(condition.getAgeGoe()),
-                        ageLoe(condition.getAgeLoe())
-                )
-                .offset(pageable.getOffset()) // getOffset(), getPageSize() : spring data jpa 에서 제공
-                .limit(pageable.getPageSize())
+                .where(member.id.in(ids))
                 .fetch();
-        // .fetchResults(); // 페이징 + 카운트 쿼리인데 deprecated됨. 따로 count 쿼리를 구성해야 함.
 
-        // count 쿼리 최적화 가능
-        JPAQuery<Long> countQuery = queryFactory
+        Map<Long, MemberTeamDto> byId = new HashMap<>(rows.size() * 2);
+        for (MemberTeamDto row : rows) {
+            byId.put(row.getId(), row);
+        }
+        for (Long id : ids) {
+            MemberTeamDto row = byId.get(id);
+            if (row != null) {
+                content.add(row);
+            }
+        }
+        return content;
+    }
+
+    @Override
+    public CountedPage<MemberTeamDto> searchPageParallel(MemberSearchCondition condition, Pageable pageable, Duration timeout) {
+        // 쿼리 생성(팀명 -> 팀 id 조회 포함)과 실행을 모두 각자의 읽기 전용 트랜잭션(별도 커넥션)에서 동시에 한다.
+        // 호출한 스레드가 DB 를 쓰면 open-in-view 로 요청이 끝날 때까지 커넥션을 잡고 있게 되어,
+        // 동시 요청이 많을 때 워커가 커넥션을 못 얻고 서로 기다리는 풀 데드락이 생긴다.
+        CompletableFuture<List<MemberTeamDto>> content = readOnlyQueryExecutor.supplyReadOnly(
+                () -> withQueryTimeout(pageContentQuery(condition, pageable), timeout).fetch(), timeout);
+        CompletableFuture<Long> total = readOnlyQueryExecutor.supplyReadOnly(
+                () -> withQueryTimeout(pageCountQuery(condition), timeout).fetchOne(), timeout);
+
+        try {
+            CompletableFuture.allOf(content, total).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // CompletableFuture.cancel 은 실행 중인 작업을 인터럽트하지 않는다. 실행 중인 쿼리는 JDBC query timeout 으로 끝난다.
+            content.cancel(true);
+            total.cancel(true);
+            throw new QueryTimeoutException("페이지 조회 시간 초과: " + timeout, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new QueryTimeoutException("페이지 조회 중 인터럽트", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+
+        return new CountedPage<>(content.join(), pageable, total.join(), true);
+    }
+
+    // JDBC Statement.setQueryTimeout (초 단위로 올림) - 시간이 지나면 DB 에서 쿼리를 취소하고 커넥션을 돌려준다.
+    private static <T> JPAQuery<T> withQueryTimeout(JPAQuery<T> query, Duration timeout) {
+        return query.setHint("jakarta.persistence.query.timeout", Math.max(1_000, timeout.toMillis()));
+    }
+
+    private JPAQuery<MemberTeamDto> pageContentQuery(MemberSearchCondition condition, Pageable pageable) {
+        return memberJoins.applyTo(queryFactory
+                        .select(new QMemberTeamDto(
+                                member.id,
+                                member.username,
+                                member.age,
+                                team.id,
+                                team.name
+                        ))
+                        .from(member)
+                        .where(
+                                usernameEq(condition.getUsername()),
+                                teamNameEq(condition.getTeamName()),
+                                ageGoe(condition.getAgeGoe()),
+                                ageLoe(condition.getAgeLoe())
+                        ))
+                .offset(pageable.getOffset()) // getOffset(), getPageSize() : spring data jpa 에서 제공
+                .limit(pageable.getPageSize());
+    }
+
+    // 조건에서 team 을 참조할 때만 조인이 붙는다. teamIdIn 은 member.team_id 만 쓰므로 항상 member 단일 테이블 count
+    private JPAQuery<Long> pageCountQuery(MemberSearchCondition condition) {
+        return memberJoins.applyTo(queryFactory
                 .select(member.count())
                 .from(member)
-                //.leftJoin(member.team, team)
                 .where(
                         usernameEq(condition.getUsername()),
-                        teamNameEq(condition.getTeamName()),
+                        teamIdIn(condition.getTeamName()), // team.name 대신 팀 id 로 필터링하므로 조인이 필요 없다.
                         ageGoe(condition.getAgeGoe()),
                         ageLoe(condition.getAgeLoe())
-                );
+                ));
+    }
 
-        // countQuery.fetchOne(); // 이거를
+    @Override
+    @Transactional(readOnly = true)
+    public MemberTeamSlice searchSlice(MemberSearchCondition condition, String cursor, int size) {
+        List<MemberTeamDto> content = memberJoins.applyTo(queryFactory
+                        .select(new QMemberTeamDto(
+                                member.id,
+                                member.username,
+                                member.age,
+                                team.id,
+                                team.name
+                        ))
+                        .from(member)
+                        .where(
+                                memberIdGt(MemberTeamSlice.decodeCursor(cursor)), // where member_id > :lastId (PK 인덱스로 바로 탐색)
+                                usernameEq(condition.getUsername()),
+                                teamNameEq(condition.getTeamName()),
+                                ageGoe(condition.getAgeGoe()),
+                                ageLoe(condition.getAgeLoe())
+                        )
+                        .orderBy(member.id.asc()))
+                .limit(size + 1) // 다음 페이지 존재 여부 확인용으로 1건 더 조회
+                .fetch();
 
-        return PageableExecutionUtils.getPage(content, pageable, countQuery::fetchOne); // 이렇게 넘김
+        return MemberTeamSlice.of(content, size);
+    }
 
-        // return new PageImpl<>(content, pageable, Optional.ofNullable(total).orElse(0L));
+    private BooleanExpression memberIdGt(Long lastId) {
+        return lastId != null ? member.id.gt(lastId) : null;
     }
 
     private BooleanExpression usernameEq(String username) {
@@ -96,6 +298,17 @@ public class MemberRepositoryImpl implements MemberRepositoryCustom {
         return StringUtils.hasText(teamName) ? team.name.eq(teamName) : null;
     }
 
+    // 팀명을 (캐시된) 팀 id 목록으로 바꿔서 member.team_id 컬럼만으로 필터링
+    private BooleanExpression teamIdIn(String teamName) {
+        if (!StringUtils.hasText(teamName)) {
+            return null;
+        }
+        List<Long> teamIds = teamNameResolver.resolve(teamName);
+        return teamIds.isEmpty()
+                ? member.id.isNull() // 해당 팀이 없으면 결과도 없음 (member_id 는 null 이 될 수 없다)
+                : member.team.id.in(teamIds);
+    }
+
     private BooleanExpression ageGoe(Integer ageGoe) {
         return ageGoe != null ? member.age.goe(ageGoe) : null;
     }
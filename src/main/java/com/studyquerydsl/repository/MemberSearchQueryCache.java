@@ -0,0 +1,155 @@
+package com.studyquerydsl.repository;
+
+import com.querydsl.core.types.ParamExpression;
+import com.querydsl.core.types.dsl.Param;
+import com.querydsl.jpa.HQLTemplates;
+import com.querydsl.jpa.JPQLSerializer;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAUtil;
+import com.studyquerydsl.dto.MemberSearchCondition;
+import com.studyquerydsl.dto.MemberTeamDto;
+import com.studyquerydsl.dto.QMemberTeamDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.studyquerydsl.entity.QMember.member;
+import static com.studyquerydsl.entity.QTeam.team;
+
+// MemberSearchCondition 의 조합은 (조건 존재 여부 기준) 16가지 뿐이므로,
+// 조합(shape)별로 JPQL 을 한 번만 만들어 두고 요청마다 파라미터만 바인딩한다.
+@Component
+public class MemberSearchQueryCache {
+
+    static final int USERNAME = 1;
+    static final int TEAM_NAME = 1 << 1;
+    static final int AGE_GOE = 1 << 2;
+    static final int AGE_LOE = 1 << 3;
+    static final int SHAPE_COUNT = 1 << 4;
+
+    private static final Param<String> usernameParam = new Param<>(String.class, "username");
+    private static final Param<String> teamNameParam = new Param<>(String.class, "teamName");
+    private static final Param<Integer> ageGoeParam = new Param<>(Integer.class, "ageGoe");
+    private static final Param<Integer> ageLoeParam = new Param<>(Integer.class, "ageLoe");
+
+    private static final QMemberTeamDto projection = new QMemberTeamDto(
+            member.id,
+            member.username,
+            member.age,
+            team.id,
+            team.name
+    );
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private final AtomicReferenceArray<QueryShape> shapes = new AtomicReferenceArray<>(SHAPE_COUNT);
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public MemberSearchQueryCache(MeterRegistry meterRegistry) {
+        this.hits = Counter.builder("member.search.query.cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("member.search.query.cache")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    public List<MemberTeamDto> search(MemberSearchCondition condition) {
+        int shapeKey = shapeOf(condition);
+        QueryShape shape = shapes.get(shapeKey);
+        if (shape == null) {
+            misses.increment();
+            shape = serialize(shapeKey);
+            shapes.compareAndSet(shapeKey, null, shape); // 동시에 만들어도 결과는 같으므로 먼저 들어간 것을 사용
+        } else {
+            hits.increment();
+        }
+
+        Query query = em.createQuery(shape.jpql());
+        JPAUtil.setConstants(query, shape.constants(), bindings(condition));
+
+        List<?> rows = query.getResultList();
+        List<MemberTeamDto> result = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            result.add(projection.newInstance((Object[]) row));
+        }
+        return result;
+    }
+
+    public double getHitCount() {
+        return hits.count();
+    }
+
+    public double getMissCount() {
+        return misses.count();
+    }
+
+    static int shapeOf(MemberSearchCondition condition) {
+        int shape = 0;
+        if (StringUtils.hasText(condition.getUsername())) {
+            shape |= USERNAME;
+        }
+        if (StringUtils.hasText(condition.getTeamName())) {
+            shape |= TEAM_NAME;
+        }
+        if (condition.getAgeGoe() != null) {
+            shape |= AGE_GOE;
+        }
+        if (condition.getAgeLoe() != null) {
+            shape |= AGE_LOE;
+        }
+        return shape;
+    }
+
+    // shape 에 해당하는 QueryDSL 쿼리를 만들고 JPQL 로 직렬화 (조합당 한 번)
+    private QueryShape serialize(int shapeKey) {
+        JPAQuery<MemberTeamDto> query = new JPAQuery<Void>()
+                .select(projection)
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(
+                        (shapeKey & USERNAME) != 0 ? member.username.eq(usernameParam) : null,
+                        (shapeKey & TEAM_NAME) != 0 ? team.name.eq(teamNameParam) : null,
+                        (shapeKey & AGE_GOE) != 0 ? member.age.goe(ageGoeParam) : null,
+                        (shapeKey & AGE_LOE) != 0 ? member.age.loe(ageLoeParam) : null
+                );
+
+        JPQLSerializer serializer = new JPQLSerializer(HQLTemplates.DEFAULT, em);
+        serializer.serialize(query.getMetadata(), false, null);
+        return new QueryShape(serializer.toString(), List.copyOf(serializer.getConstants()));
+    }
+
+    private Map<ParamExpression<?>, Object> bindings(MemberSearchCondition condition) {
+        Map<ParamExpression<?>, Object> params = new HashMap<>();
+        if (StringUtils.hasText(condition.getUsername())) {
+            params.put(usernameParam, condition.getUsername());
+        }
+        if (StringUtils.hasText(condition.getTeamName())) {
+            params.put(teamNameParam, condition.getTeamName());
+        }
+        if (condition.getAgeGoe() != null) {
+            params.put(ageGoeParam, condition.getAgeGoe());
+        }
+        if (condition.getAgeLoe() != null) {
+            params.put(ageLoeParam, condition.getAgeLoe());
+        }
+        return params;
+    }
+
+    private record QueryShape(String jpql, List<Object> constants) {
+    }
+
+}
@@ -0,0 +1,247 @@
+package com.studyquerydsl.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.studyquerydsl.dto.CountedPage;
+import com.studyquerydsl.dto.MemberSearchCondition;
+import com.studyquerydsl.dto.MemberTeamDto;
+import com.studyquerydsl.entity.Member;
+import com.studyquerydsl.entity.Team;
+import com.studyquerydsl.entity.event.EntityChangeType;
+import com.studyquerydsl.entity.event.MemberChangedEvent;
+import com.studyquerydsl.entity.event.TeamChangedEvent;
+import com.studyquerydsl.entity.event.TransactionCompletionCallbacks;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.hibernate.Hibernate;
+import org.hibernate.proxy.HibernateProxy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
+
+// search / searchPageComplex 결과 캐시 (키: 정규화한 조건 + pageable + countMode)
+// - Caffeine(W-TinyLFU) 으로 캐시된 row 수 합계를 max-rows 이하로 유지하고, ttl 이 지나면 만료한다.
+// - 같은 키를 동시에 조회하면 한 스레드만 DB 를 조회하고 나머지는 그 결과를 기다린다. (조회는 호출한 스레드의 트랜잭션에서 실행)
+// - 읽기 전용 트랜잭션에서만 사용한다. (쓰기 트랜잭션에서는 커밋 전 데이터가 캐시에 들어갈 수 있으므로 항상 DB 조회)
+// - 회원/팀 변경은 트랜잭션이 끝난 뒤 영향받는 항목만 제거한다. 벌크 연산은 invalidateAll() 을 직접 호출해야 한다.
+// 히트율: cache.gets{cache=member.search.result, result=hit|miss}
+@Component
+public class MemberSearchResultCache {
+
+    private static final String SEARCH = "search";
+    private static final String PAGE = "searchPageComplex";
+    private static final int MAX_PENDING = 1_000; // 트랜잭션 하나에서 이보다 많이 바뀌면 전체 제거
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Cache<Key, Entry> cache;
+
+    // 조회 도중 무효화가 일어났으면 그 결과는 이미 오래된 값일 수 있으므로 캐시에 남기지 않는다.
+    private final AtomicLong invalidations = new AtomicLong();
+    private final Object pendingKey = new Object();
+
+    public MemberSearchResultCache(MeterRegistry meterRegistry,
+                                   @Value("${member.search.result-cache.enabled:true}") boolean enabled,
+                                   @Value("${member.search.result-cache.max-rows:100000}") long maxRows,
+                                   @Value("${member.search.result-cache.ttl:10s}") Duration ttl) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxRows)
+                .weigher((Key key, Entry entry) -> entry.content().size() + 1)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "member.search.result");
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<MemberTeamDto> search(MemberSearchCondition condition, Supplier<List<MemberTeamDto>> loader) {
+        Entry entry = get(new Key(SEARCH, condition.normalize(), null, null), () -> {
+            List<MemberTeamDto> content = List.copyOf(loader.get());
+            return new Entry(content, content, false);
+        });
+        return (List<MemberTeamDto>) entry.value();
+    }
+
+    @SuppressWarnings("unchecked")
+    public CountedPage<MemberTeamDto> searchPage(MemberSearchCondition condition, Pageable pageable, CountMode countMode,
+                                                 Supplier<CountedPage<MemberTeamDto>> loader) {
+        Entry entry = get(new Key(PAGE, condition.normalize(), pageable, countMode), () -> {
+            CountedPage<MemberTeamDto> page = loader.get();
+            return new Entry(page, page.getContent(), true);
+        });
+        return (CountedPage<MemberTeamDto>) entry.value();
+    }
+
+    public void invalidateAll() {
+        invalidate("bulk", (key, entry) -> true);
+        invalidateAfterCompletion("bulk", (key, entry) -> true);
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    @EventListener
+    public void onMemberChanged(MemberChangedEvent event) {
+        MemberState state = MemberState.of(event.getMember());
+        boolean persist = event.getType() == EntityChangeType.PERSIST;
+        // 목록: 조건에 맞는 회원을 모두 담고 있으므로 바뀐 값이 조건에 맞거나(들어옴) 결과에 있던 회원(빠짐)이면 영향받는다.
+        // 페이지: 캐시되지 않은 다른 페이지의 회원이 빠져도 total / 위치가 바뀌므로 수정/삭제면 모두 제거한다.
+        invalidateAfterCompletion("member", (key, entry) -> state.matches(key.condition())
+                || (entry.paged() ? !persist : entry.containsMember(state.id())));
+    }
+
+    @EventListener
+    public void onTeamChanged(TeamChangedEvent event) {
+        Long teamId = event.getTeam().getId();
+        String teamName = event.getTeam().getName();
+        // 팀명 변경: 그 팀 회원이 들어 있는 결과와 새 팀명으로 검색한 결과. 페이지는 팀명 조건이 있으면 모두 제거
+        invalidateAfterCompletion("team", (key, entry) -> entry.containsTeam(teamId)
+                || Objects.equals(key.condition().getTeamName(), teamName)
+                || (entry.paged() && key.condition().getTeamName() != null));
+    }
+
+    private Entry get(Key key, Supplier<Entry> loader) {
+        if (!cacheable()) {
+            return loader.get();
+        }
+        long before = invalidations.get();
+        Entry entry = cache.get(key, k -> loader.get());
+        if (invalidations.get() != before) {
+            cache.asMap().remove(key, entry);
+        }
+        return entry;
+    }
+
+    private boolean cacheable() {
+        return enabled && (!TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+    }
+
+    private void invalidate(String reason, BiPredicate<Key, Entry> affected) {
+        invalidations.incrementAndGet();
+        cache.asMap().entrySet().removeIf(cached -> affected.test(cached.getKey(), cached.getValue()));
+        meterRegistry.counter("member.search.result.invalidations", "reason", reason).increment();
+    }
+
+    // 다른 트랜잭션은 커밋 전까지 이전 데이터를 보므로 트랜잭션이 끝난 뒤에 한 번에 제거한다. (트랜잭션이 없으면 바로)
+    private void invalidateAfterCompletion(String reason, BiPredicate<Key, Entry> affected) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(reason, affected);
+            return;
+        }
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(pendingKey);
+        if (pending == null) {
+            Pending registered = new Pending();
+            TransactionSynchronizationManager.bindResource(pendingKey, registered);
+            TransactionCompletionCallbacks.runOnceAfterCompletion(this, () -> {
+                TransactionSynchronizationManager.unbindResourceIfPossible(pendingKey);
+                registered.flush(this);
+            });
+            pending = registered;
+        }
+        pending.add(reason, affected);
+    }
+
+    // 한 트랜잭션에서 쌓인 무효화 조건
+    private static final class Pending {
+
+        private final List<String> reasons = new ArrayList<>();
+        private final List<BiPredicate<Key, Entry>> predicates = new ArrayList<>();
+        private boolean all;
+
+        void add(String reason, BiPredicate<Key, Entry> affected) {
+            if (all) {
+                return;
+            }
+            if (predicates.size() == MAX_PENDING) {
+                all = true; // 대량 insert 등: 조건을 계속 쌓지 않고 전체 제거
+                predicates.clear();
+                return;
+            }
+            if (!reasons.contains(reason)) {
+                reasons.add(reason);
+            }
+            predicates.add(affected);
+        }
+
+        void flush(MemberSearchResultCache owner) {
+            String reason = String.join("+", reasons);
+            if (all) {
+                owner.invalidate(reason, (key, entry) -> true);
+                return;
+            }
+            owner.invalidate(reason, (key, entry) -> {
+                for (BiPredicate<Key, Entry> predicate : predicates) {
+                    if (predicate.test(key, entry)) {
+                        return true;
+                    }
+                }
+                return false;
+            });
+        }
+    }
+
+    // 이벤트 시점의 회원 값 (트랜잭션이 끝난 뒤에는 지연 로딩을 할 수 없으므로 미리 꺼내 둔다)
+    private record MemberState(Long id, String username, int age, Long teamId, String teamName, boolean teamNameKnown) {
+
+        static MemberState of(Member member) {
+            Team team = member.getTeam();
+            if (team == null) {
+                return new MemberState(member.getId(), member.getUsername(), member.getAge(), null, null, true);
+            }
+            Long teamId = team instanceof HibernateProxy proxy
+                    ? (Long) proxy.getHibernateLazyInitializer().getInternalIdentifier()
+                    : team.getId();
+            // 초기화되지 않은 팀 프록시는 flush 도중에 조회하지 않고, 팀명 조건이 있으면 모두 맞는 것으로 본다.
+            boolean known = Hibernate.isInitialized(team);
+            return new MemberState(member.getId(), member.getUsername(), member.getAge(), teamId,
+                    known ? team.getName() : null, known);
+        }
+
+        // MemberRepositoryImpl 의 검색 조건과 같은 규칙 (condition 은 정규화된 값)
+        boolean matches(MemberSearchCondition condition) {
+            return (condition.getUsername() == null || condition.getUsername().equals(username))
+                    && (condition.getTeamName() == null || !teamNameKnown || condition.getTeamName().equals(teamName))
+                    && (condition.getAgeGoe() == null || age >= condition.getAgeGoe())
+                    && (condition.getAgeLoe() == null || age <= condition.getAgeLoe());
+        }
+    }
+
+    private record Key(String method, MemberSearchCondition condition, Pageable pageable, CountMode countMode) {
+    }
+
+    private record Entry(Object value, List<MemberTeamDto> content, boolean paged) {
+
+        boolean containsMember(Long memberId) {
+            for (MemberTeamDto row : content) {
+                if (Objects.equals(row.getId(), memberId)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean containsTeam(Long teamId) {
+            for (MemberTeamDto row : content) {
+                if (Objects.equals(row.getTeamId(), teamId)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+}
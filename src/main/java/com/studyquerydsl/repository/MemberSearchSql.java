@@ -0,0 +1,35 @@
+package com.studyquerydsl.repository;
+
+import com.studyquerydsl.dto.MemberSearchCondition;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// MemberSearchCondition 을 네이티브 SQL where 절로 변환 (별칭: member m, team t)
+// JPQL 을 거치지 않고 JdbcTemplate 으로 직접 조회하는 곳(count 추정, 컬럼형 조회)에서 사용한다.
+record MemberSearchSql(String where, Object[] params) {
+
+    static MemberSearchSql of(MemberSearchCondition condition) {
+        StringBuilder where = new StringBuilder(" where 1 = 1");
+        List<Object> params = new ArrayList<>();
+        if (StringUtils.hasText(condition.getUsername())) {
+            where.append(" and m.username = ?");
+            params.add(condition.getUsername());
+        }
+        if (StringUtils.hasText(condition.getTeamName())) {
+            where.append(" and t.name = ?");
+            params.add(condition.getTeamName());
+        }
+        if (condition.getAgeGoe() != null) {
+            where.append(" and m.age >= ?");
+            params.add(condition.getAgeGoe());
+        }
+        if (condition.getAgeLoe() != null) {
+            where.append(" and m.age <= ?");
+            params.add(condition.getAgeLoe());
+        }
+        return new MemberSearchSql(where.toString(), params.toArray());
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.studyquerydsl.repository;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+import static com.studyquerydsl.entity.QMember.member;
+
+// like 조건과 pg_trgm 함수(PostgresSearchFunctions 에 등록)로 검색한다.
+// 인덱스는 db/migration V3, V4 (pg_trgm GIN, varchar_pattern_ops)
+@Component
+@Profile("!local")
+@RequiredArgsConstructor
+public class PostgresUsernameSearchIndex implements UsernameSearchIndex {
+
+    private final JPAQueryFactory queryFactory;
+
+    @Override
+    public List<Long> search(String term, UsernameMatch match, int limit) {
+        return switch (match) {
+            case PREFIX -> queryFactory
+                    .select(member.id)
+                    .from(member)
+                    .where(member.username.startsWith(term))
+                    .orderBy(member.username.asc(), member.id.asc())
+                    .limit(limit)
+                    .fetch();
+            case CONTAINS -> queryFactory
+                    .select(member.id)
+                    .from(member)
+                    .where(member.username.contains(term))
+                    .orderBy(member.username.asc(), member.id.asc())
+                    .limit(limit)
+                    .fetch();
+            case FUZZY -> queryFactory
+                    .select(member.id)
+                    .from(member)
+                    .where(trgmMatch(term))
+                    .orderBy(similarity(term).desc(), member.id.asc())
+                    .limit(limit)
+                    .fetch();
+        };
+    }
+
+    // username % :term (pg_trgm.similarity_threshold 이상, GIN 인덱스 사용)
+    private BooleanExpression trgmMatch(String term) {
+        return Expressions.booleanTemplate("function('trgm_match', {0}, {1})", member.username, term);
+    }
+
+    private NumberExpression<Double> similarity(String term) {
+        return Expressions.numberTemplate(Double.class, "function('similarity', {0}, {1})", member.username, term);
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.studyquerydsl.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// 조회 쿼리를 다른 스레드에서 "새 읽기 전용 트랜잭션"으로 실행한다.
+// 스레드마다 트랜잭션이 따로 열리므로 EntityManager 와 커넥션도 각자 사용한다. (호출한 쪽 트랜잭션과 격리됨)
+@Slf4j
+@Component
+public class ReadOnlyQueryExecutor implements DisposableBean {
+
+    private final PlatformTransactionManager transactionManager;
+    private final ExecutorService executor;
+
+    public ReadOnlyQueryExecutor(PlatformTransactionManager transactionManager,
+                                 @Value("${member.query.executor.pool-size:16}") int poolSize,
+                                 @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.transactionManager = transactionManager;
+        this.executor = createExecutor(poolSize, virtualThreads);
+    }
+
+    // timeout 은 트랜잭션 타임아웃으로도 걸어서 DB 쪽 쿼리도 함께 취소되게 한다.
+    public <T> CompletableFuture<T> supplyReadOnly(Supplier<T> query, Duration timeout) {
+        TransactionTemplate readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        readOnlyTx.setReadOnly(true);
+        readOnlyTx.setTimeout((int) Math.max(1, (timeout.toMillis() + 999) / 1000));
+
+        return CompletableFuture.supplyAsync(() -> readOnlyTx.execute(status -> query.get()), executor);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    // 가상 스레드를 켜고(virtual 프로파일) Java 21 이상에서 실행하면 가상 스레드, 아니면 고정 크기 플랫폼 스레드 풀
+    // (기본 toolchain 이 17 이라 Executors.newVirtualThreadPerTaskExecutor 를 직접 호출할 수 없다.)
+    private static ExecutorService createExecutor(int poolSize, boolean virtualThreads) {
+        if (virtualThreads) {
+            try {
+                Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                log.info("조회 쿼리 병렬 실행에 가상 스레드를 사용합니다.");
+                return (ExecutorService) factory.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                log.warn("가상 스레드를 사용할 수 없는 런타임입니다. 플랫폼 스레드 풀을 사용합니다. ({})", Runtime.version());
+            }
+        }
+
+        AtomicInteger sequence = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "read-only-query-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(poolSize, threadFactory);
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.studyquerydsl.repository;
+
+import com.studyquerydsl.config.JdbcTimeListener;
+import com.studyquerydsl.dto.MemberSearchCondition;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+// 리포지토리 메서드별 지연시간 / 결과 row 수 / JDBC 시간 vs 매핑 시간 메트릭
+//   member.repository.query          : 전체 시간
+//   member.repository.query.jdbc     : 쿼리 실행 + ResultSet 읽기 시간 (p6spy)
+//   member.repository.query.mapping  : 나머지 (JPQL 변환, 엔티티/DTO 매핑 등)
+//   member.repository.query.rows     : 결과 row 수
+// 태그: method, conditions (값이 있는 검색 조건 필드, 예: teamName+ageGoe)
+// 확인: /actuator/metrics/member.repository.query?tag=method:search , /actuator/repositoryqueries
+@Component
+public class RepositoryMetrics {
+
+    static final String QUERY = "member.repository.query";
+    static final String JDBC = "member.repository.query.jdbc";
+    static final String MAPPING = "member.repository.query.mapping";
+    static final String ROWS = "member.repository.query.rows";
+
+    // shape(MemberSearchQueryCache.shapeOf) 별 태그 값을 미리 만들어 둔다.
+    private static final String[] conditionTags = new String[MemberSearchQueryCache.SHAPE_COUNT];
+
+    static {
+        for (int shape = 0; shape < conditionTags.length; shape++) {
+            List<String> fields = new ArrayList<>();
+            if ((shape & MemberSearchQueryCache.USERNAME) != 0) {
+                fields.add("username");
+            }
+            if ((shape & MemberSearchQueryCache.TEAM_NAME) != 0) {
+                fields.add("teamName");
+            }
+            if ((shape & MemberSearchQueryCache.AGE_GOE) != 0) {
+                fields.add("ageGoe");
+            }
+            if ((shape & MemberSearchQueryCache.AGE_LOE) != 0) {
+                fields.add("ageLoe");
+            }
+            conditionTags[shape] = fields.isEmpty() ? "none" : String.join("+", fields);
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+
+    public RepositoryMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> List<T> record(String method, MemberSearchCondition condition, Supplier<List<T>> query) {
+        return record(method, conditionTag(condition), query, List::size);
+    }
+
+    public <T> T record(String method, String conditions, Supplier<T> query, ToIntFunction<T> rows) {
+        long jdbcStart = JdbcTimeListener.currentThreadNanos();
+        long start = System.nanoTime();
+        T result = query.get();
+        long total = System.nanoTime() - start;
+        long jdbc = Math.min(total, JdbcTimeListener.currentThreadNanos() - jdbcStart);
+
+        Timer.builder(QUERY)
+                .tags("method", method, "conditions", conditions)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(total, TimeUnit.NANOSECONDS);
+        Timer.builder(JDBC)
+                .tags("method", method, "conditions", conditions)
+                .register(meterRegistry)
+                .record(jdbc, TimeUnit.NANOSECONDS);
+        Timer.builder(MAPPING)
+                .tags("method", method, "conditions", conditions)
+                .register(meterRegistry)
+                .record(total - jdbc, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder(ROWS)
+                .tags("method", method, "conditions", conditions)
+                .register(meterRegistry)
+                .record(rows.applyAsInt(result));
+        return result;
+    }
+
+    public static String conditionTag(MemberSearchCondition condition) {
+        return conditionTags[MemberSearchQueryCache.shapeOf(condition)];
+    }
+
+    // 이름 검색(searchUsername)은 검색 조건 대신 match 종류로 구분한다. (match:prefix, match:contains, match:fuzzy)
+    public static String matchTag(UsernameMatch match) {
+        return "match:" + match.name().toLowerCase(Locale.ROOT);
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.studyquerydsl.repository;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// /actuator/repositoryqueries : RepositoryMetrics 를 (method, conditions) 별로 한 번에 보여준다.
+@Component
+@Endpoint(id = "repositoryqueries")
+@RequiredArgsConstructor
+public class RepositoryQueriesEndpoint {
+
+    private final MeterRegistry meterRegistry;
+
+    @ReadOperation
+    public List<QueryStats> queries() {
+        List<QueryStats> stats = new ArrayList<>();
+        for (Timer timer : meterRegistry.find(RepositoryMetrics.QUERY).timers()) {
+            String method = timer.getId().getTag("method");
+            String conditions = timer.getId().getTag("conditions");
+            Timer jdbc = meterRegistry.find(RepositoryMetrics.JDBC).tags("method", method, "conditions", conditions).timer();
+            Timer mapping = meterRegistry.find(RepositoryMetrics.MAPPING).tags("method", method, "conditions", conditions).timer();
+            DistributionSummary rows = meterRegistry.find(RepositoryMetrics.ROWS).tags("method", method, "conditions", conditions).summary();
+
+            stats.add(new QueryStats(
+                    method,
+                    conditions,
+                    timer.count(),
+                    timer.mean(TimeUnit.MILLISECONDS),
+                    timer.max(TimeUnit.MILLISECONDS),
+                    jdbc != null ? jdbc.mean(TimeUnit.MILLISECONDS) : 0,
+                    mapping != null ? mapping.mean(TimeUnit.MILLISECONDS) : 0,
+                    rows != null ? rows.mean() : 0
+            ));
+        }
+        stats.sort(Comparator.comparingDouble(QueryStats::totalMillis).reversed());
+        return stats;
+    }
+
+    public record QueryStats(String method, String conditions, long count,
+                             double meanMillis, double maxMillis,
+                             double jdbcMeanMillis, double mappingMeanMillis, double meanRows) {
+
+        // 호출 수 * 평균 = 누적 시간 (많이 차지하는 순서로 정렬)
+        public double totalMillis() {
+            return count * meanMillis;
+        }
+    }
+
+}
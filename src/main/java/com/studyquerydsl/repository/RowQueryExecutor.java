@@ -0,0 +1,169 @@
+package com.studyquerydsl.repository;
+
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.QueryModifiers;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.FactoryExpression;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.Ops;
+import com.querydsl.jpa.JPQLQuery;
+import com.querydsl.jpa.JPQLSerializer;
+import com.querydsl.jpa.impl.JPAProvider;
+import com.querydsl.jpa.impl.JPAUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 대량 집계/리포트용: QueryDSL 쿼리를 forward-only 커서로 읽으면서 row 마다 Tuple / DTO 를 만들지 않고 컬럼 값을 그대로 넘긴다.
+//
+// 예) rowQueryExecutor.forEachRow(queryFactory.select(member.username, member.age).from(member), row -> {
+//         sum += row.getInt(1);
+//     });
+//
+// - Row 는 하나를 계속 재사용하므로 consumer 밖으로 꺼내 두면 안 된다. (값이 필요하면 get 으로 복사)
+// - 엔티티를 select 하면 영속성 컨텍스트에 쌓이므로 스칼라 컬럼 조회에 사용한다.
+// - where / groupBy / orderBy / limit / offset 은 그대로 적용된다. (쿼리 힌트, 락 모드는 제외)
+@Component
+public class RowQueryExecutor {
+
+    private static final int DEFAULT_FETCH_SIZE = 1_000;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Transactional(readOnly = true)
+    public long forEachRow(JPQLQuery<?> query, RowConsumer consumer) {
+        return forEachRow(query, DEFAULT_FETCH_SIZE, consumer);
+    }
+
+    // 커서를 다 읽을 때까지 커넥션을 잡고 있으므로 트랜잭션 안에서 실행한다. 반환값은 읽은 row 수
+    @Transactional(readOnly = true)
+    public long forEachRow(JPQLQuery<?> query, int fetchSize, RowConsumer consumer) {
+        QueryMetadata metadata = query.getMetadata();
+        if (metadata.getProjection() == null) {
+            throw new IllegalArgumentException("select 로 조회할 컬럼을 지정해야 합니다.");
+        }
+        Row row = new Row(metadata.getProjection());
+
+        // JPAQuery.createQuery() 는 Tuple / DTO 변환기를 붙이므로 JPQL 만 직렬화해서 직접 실행한다.
+        JPQLSerializer serializer = new JPQLSerializer(JPAProvider.getTemplates(em), em);
+        serializer.serialize(metadata, false, null);
+        Query jpaQuery = em.createQuery(serializer.toString());
+        JPAUtil.setConstants(jpaQuery, serializer.getConstants(), metadata.getParams());
+        QueryModifiers modifiers = metadata.getModifiers();
+        if (modifiers != null && modifiers.getOffsetAsInteger() != null) {
+            jpaQuery.setFirstResult(modifiers.getOffsetAsInteger());
+        }
+        if (modifiers != null && modifiers.getLimitAsInteger() != null) {
+            jpaQuery.setMaxResults(modifiers.getLimitAsInteger());
+        }
+
+        org.hibernate.query.Query<?> hibernateQuery = jpaQuery.unwrap(org.hibernate.query.Query.class);
+        hibernateQuery.setFetchSize(fetchSize);
+        hibernateQuery.setReadOnly(true);
+
+        long count = 0;
+        try (ScrollableResults<?> results = hibernateQuery.scroll(ScrollMode.FORWARD_ONLY)) {
+            while (results.next()) {
+                row.set(results.get());
+                consumer.accept(row);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @FunctionalInterface
+    public interface RowConsumer {
+        void accept(Row row);
+    }
+
+    // 현재 row 의 컬럼 값 (인덱스는 select 순서대로 0부터)
+    public static final class Row {
+
+        private final Map<Expression<?>, Integer> indexes = new HashMap<>();
+        private final int size;
+        private final Object[] single = new Object[1];
+        private Object[] values;
+
+        private Row(Expression<?> projection) {
+            List<Expression<?>> columns = projection instanceof FactoryExpression<?> factory
+                    ? factory.getArgs()
+                    : List.of(projection);
+            for (int i = 0; i < columns.size(); i++) {
+                Expression<?> column = columns.get(i);
+                indexes.putIfAbsent(column, i);
+                // member.username.as("name") 는 별칭 path 로도 찾을 수 있게 한다. (QTuple 과 같은 규칙)
+                if (column instanceof Operation<?> operation && operation.getOperator() == Ops.ALIAS) {
+                    indexes.putIfAbsent(operation.getArg(1), i);
+                }
+            }
+            this.size = columns.size();
+        }
+
+        private void set(Object result) {
+            if (size == 1) {
+                single[0] = result;
+                values = single;
+            } else {
+                values = (Object[]) result;
+            }
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public Object get(int index) {
+            return values[index];
+        }
+
+        public <T> T get(int index, Class<T> type) {
+            return type.cast(values[index]);
+        }
+
+        public <T> T get(Expression<T> expression) {
+            Integer index = indexes.get(expression);
+            if (index == null) {
+                throw new IllegalArgumentException("select 에 없는 컬럼입니다: " + expression);
+            }
+            @SuppressWarnings("unchecked")
+            T value = (T) values[index];
+            return value;
+        }
+
+        public boolean isNull(int index) {
+            return values[index] == null;
+        }
+
+        // 숫자 컬럼: null 이면 0 (JDBC ResultSet 과 같은 규칙, 구분이 필요하면 isNull 로 확인)
+        public long getLong(int index) {
+            Object value = values[index];
+            return value != null ? ((Number) value).longValue() : 0L;
+        }
+
+        public int getInt(int index) {
+            Object value = values[index];
+            return value != null ? ((Number) value).intValue() : 0;
+        }
+
+        public double getDouble(int index) {
+            Object value = values[index];
+            return value != null ? ((Number) value).doubleValue() : 0d;
+        }
+
+        public String getString(int index) {
+            Object value = values[index];
+            return value != null ? value.toString() : null;
+        }
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.studyquerydsl.repository;
+
+import com.studyquerydsl.entity.Member;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnitUtil;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+
+// 회원 insert / update / delete 때 영향을 받는 팀 id 를 TeamStatsRepository 에 알려서 그 팀만 다시 집계하게 한다.
+// MemberChangedEvent 는 변경 후 엔티티만 가지고 있어서 팀을 옮긴 경우 이전 팀을 알 수 없으므로
+// Hibernate 이벤트의 변경 전 상태(getOldState / getDeletedState)에서 이전 팀을 꺼낸다. (등록 방식은 NPlusOneDetector 와 같음)
+@Component
+public class TeamStatsChangeTracker implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private final EntityManagerFactory emf;
+    private final TeamStatsRepository teamStatsRepository;
+
+    public TeamStatsChangeTracker(EntityManagerFactory emf, TeamStatsRepository teamStatsRepository) {
+        this.emf = emf;
+        this.teamStatsRepository = teamStatsRepository;
+    }
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = emf.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Member) {
+            changed(event.getPersister(), event.getState());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Member)) {
+            return;
+        }
+        if (event.getOldState() == null) {
+            // 스냅샷 없이 update 된 경우(detached 엔티티) 이전 팀을 알 수 없으므로 전체를 다시 집계
+            teamStatsRepository.invalidate();
+            return;
+        }
+        changed(event.getPersister(), event.getOldState(), event.getState());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Member) {
+            changed(event.getPersister(), event.getDeletedState());
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    // 팀이 없는 회원은 집계 대상이 아니므로 제외
+    private void changed(EntityPersister persister, Object[]... states) {
+        int teamIndex = persister.getEntityMetamodel().getPropertyIndex("team");
+        PersistenceUnitUtil util = emf.getPersistenceUnitUtil();
+        Set<Long> teamIds = new HashSet<>();
+        for (Object[] state : states) {
+            Object team = state[teamIndex];
+            if (team != null) {
+                teamIds.add((Long) util.getIdentifier(team)); // 프록시여도 초기화하지 않는다.
+            }
+        }
+        teamStatsRepository.markChanged(teamIds);
+    }
+
+}
@@ -0,0 +1,194 @@
+package com.studyquerydsl.repository;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.studyquerydsl.dto.QTeamStatsDto;
+import com.studyquerydsl.dto.TeamStatsDto;
+import com.studyquerydsl.entity.event.TeamChangedEvent;
+import com.studyquerydsl.entity.event.TransactionCompletionCallbacks;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.studyquerydsl.entity.QMember.member;
+import static com.studyquerydsl.entity.QTeam.team;
+
+// 팀별 집계(QuerydslBasicTest.aggregation / groupBy 와 같은 값)를 매번 member 전체를 읽지 않고 스냅샷으로 제공한다.
+// - 회원이 바뀌면 TeamStatsChangeTracker 가 변경 전/후 팀 id 를 알려주고, 다음 조회 때 그 팀만 다시 집계해서 스냅샷에 합친다.
+//   단, 변경이 계속 들어와도 min-refresh-interval 에 한 번만 집계한다. (변경 반영 지연 <= min-refresh-interval)
+// - 어느 팀이 바뀌었는지 모르는 변경(벌크 연산, COPY)은 invalidate() 로 전체를 다시 집계한다.
+// - 이벤트가 없는 변경(다른 애플리케이션, 직접 SQL)을 위한 안전장치로 max-staleness 가 지나면 전체를 다시 집계한다.
+// - 집계 중에 들어온 요청은 기다리지 않고 이전 스냅샷을 받는다. 쓰기 트랜잭션 안에서는 스냅샷 없이 바로 집계한다.
+@Repository
+public class TeamStatsRepository {
+
+    private static final Comparator<TeamStatsDto> TEAM_ORDER =
+            Comparator.comparing(TeamStatsDto::getTeamName, Comparator.nullsLast(Comparator.naturalOrder()))
+                    .thenComparing(TeamStatsDto::getTeamId);
+
+    private final JPAQueryFactory queryFactory;
+    private final Timer fullRefreshTimer;
+    private final Timer teamRefreshTimer;
+    private final Clock clock;
+    private final Duration maxStaleness;
+    private final Duration minRefreshInterval;
+
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final Set<Long> dirtyTeamIds = ConcurrentHashMap.newKeySet();
+    private final Object pendingTeamIdsKey = new Object();
+    private volatile Loaded loaded;
+    private volatile boolean allDirty;
+
+    public TeamStatsRepository(JPAQueryFactory queryFactory,
+                               MeterRegistry meterRegistry,
+                               ObjectProvider<Clock> clock,
+                               @Value("${member.team-stats.max-staleness:5m}") Duration maxStaleness,
+                               @Value("${member.team-stats.min-refresh-interval:5s}") Duration minRefreshInterval) {
+        this.queryFactory = queryFactory;
+        this.fullRefreshTimer = Timer.builder("team.stats.refresh").tag("scope", "all").register(meterRegistry);
+        this.teamRefreshTimer = Timer.builder("team.stats.refresh").tag("scope", "teams").register(meterRegistry);
+        this.clock = clock.getIfAvailable(Clock::systemUTC);
+        this.maxStaleness = maxStaleness;
+        this.minRefreshInterval = minRefreshInterval;
+    }
+
+    @Transactional(readOnly = true)
+    public TeamStatsSnapshot getStats() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return new TeamStatsSnapshot(clock.instant(), false, aggregate(null));
+        }
+
+        Loaded current = loaded;
+        if (current != null && !needsRefresh(current)) {
+            return current.toSnapshot(isDirty());
+        }
+        if (current != null && !refreshLock.tryLock()) {
+            return current.toSnapshot(isDirty()); // 다른 스레드가 집계 중
+        }
+        if (current == null) {
+            refreshLock.lock();
+        }
+        try {
+            current = loaded;
+            if (current == null || needsRefresh(current)) {
+                current = refresh(current);
+                loaded = current;
+            }
+            return current.toSnapshot(isDirty());
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    // 벌크 연산처럼 어느 팀이 바뀌었는지 모르는 변경 후에 호출한다. 다음 갱신 때 전체를 다시 집계한다.
+    // 커밋 전에 다시 집계될 수 있으므로 트랜잭션 종료 후 한 번 더 표시한다.
+    public void invalidate() {
+        allDirty = true;
+        TransactionCompletionCallbacks.runOnceAfterCompletion(this, () -> allDirty = true);
+    }
+
+    // 바뀐 팀만 다음 갱신 때 다시 집계한다. (트랜잭션 종료 후 한 번 더)
+    public void markChanged(Collection<Long> teamIds) {
+        if (teamIds.isEmpty()) {
+            return;
+        }
+        dirtyTeamIds.addAll(teamIds);
+        TransactionCompletionCallbacks.collectUntilCompletion(pendingTeamIdsKey, teamIds, dirtyTeamIds::addAll);
+    }
+
+    @EventListener
+    public void onTeamChanged(TeamChangedEvent event) {
+        if (event.getTeam().getId() != null) {
+            markChanged(List.of(event.getTeam().getId()));
+        }
+    }
+
+    private boolean isDirty() {
+        return allDirty || !dirtyTeamIds.isEmpty();
+    }
+
+    private boolean needsRefresh(Loaded current) {
+        Instant now = clock.instant();
+        return isStale(current, now)
+                || (isDirty() && Duration.between(current.refreshedAt(), now).compareTo(minRefreshInterval) >= 0);
+    }
+
+    // 팀별 갱신만 이어져도 전체 집계는 max-staleness 마다 한 번씩 한다.
+    private boolean isStale(Loaded current, Instant now) {
+        return Duration.between(current.fullRefreshedAt(), now).compareTo(maxStaleness) >= 0;
+    }
+
+    // 집계 중에 바뀐 것은 표시가 남아 있으므로 다음 갱신 때 반영된다.
+    private Loaded refresh(Loaded current) {
+        Instant now = clock.instant();
+        if (current == null || allDirty || isStale(current, now)) {
+            allDirty = false;
+            dirtyTeamIds.clear();
+            return new Loaded(now, now, fullRefreshTimer.record(() -> aggregate(null)));
+        }
+
+        Set<Long> teamIds = new HashSet<>(dirtyTeamIds);
+        dirtyTeamIds.removeAll(teamIds);
+        List<TeamStatsDto> changed = teamRefreshTimer.record(() -> aggregate(teamIds));
+
+        // 바뀐 팀은 새 집계로 바꾸고, 회원이 없어졌거나 삭제된 팀은 빠진다.
+        List<TeamStatsDto> merged = new ArrayList<>(current.teams().size() + changed.size());
+        for (TeamStatsDto stats : current.teams()) {
+            if (!teamIds.contains(stats.getTeamId())) {
+                merged.add(stats);
+            }
+        }
+        merged.addAll(changed);
+        merged.sort(TEAM_ORDER);
+        return new Loaded(now, current.fullRefreshedAt(), List.copyOf(merged));
+    }
+
+    // 팀명은 유니크가 아니므로 팀 id 로 묶는다. (팀이 없는 회원은 제외, teamIds 가 null 이면 전체)
+    private List<TeamStatsDto> aggregate(Collection<Long> teamIds) {
+        return List.copyOf(queryFactory
+                .select(new QTeamStatsDto(
+                        team.id,
+                        team.name,
+                        member.count(),
+                        member.age.castToNum(Long.class).sumAggregate(),
+                        member.age.avg(),
+                        member.age.max(),
+                        member.age.min()
+                ))
+                .from(member)
+                .join(member.team, team)
+                .where(teamIds != null ? team.id.in(teamIds) : null)
+                .groupBy(team.id, team.name)
+                .orderBy(team.name.asc(), team.id.asc())
+                .fetch());
+    }
+
+    // refreshedAt: 마지막 집계 시각, changedSinceRefresh: 그 뒤에 회원/팀 변경이 있었는지 (다음 갱신 대기 중)
+    public record TeamStatsSnapshot(Instant refreshedAt, boolean changedSinceRefresh, List<TeamStatsDto> teams) {
+    }
+
+    private record Loaded(Instant refreshedAt, Instant fullRefreshedAt, List<TeamStatsDto> teams) {
+
+        TeamStatsSnapshot toSnapshot(boolean dirty) {
+            return new TeamStatsSnapshot(refreshedAt, dirty, teams);
+        }
+    }
+
+}
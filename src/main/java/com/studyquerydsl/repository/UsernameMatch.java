@@ -0,0 +1,8 @@
+package com.studyquerydsl.repository;
+
+// 회원 이름 검색 방식
+public enum UsernameMatch {
+    PREFIX,   // username like 'x%'   (PostgreSQL: varchar_pattern_ops B-tree 인덱스)
+    CONTAINS, // username like '%x%'  (PostgreSQL: pg_trgm GIN 인덱스)
+    FUZZY     // 철자가 비슷한 이름, 유사도 순 (PostgreSQL: pg_trgm % 연산자 + similarity)
+}
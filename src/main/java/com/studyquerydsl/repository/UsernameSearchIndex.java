@@ -0,0 +1,15 @@
+package com.studyquerydsl.repository;
+
+import java.util.List;
+
+// 이름 검색으로 member id 를 찾는다. (정렬: PREFIX/CONTAINS 는 이름순, FUZZY 는 유사도순)
+// 운영/테스트는 PostgreSQL 인덱스(PostgresUsernameSearchIndex), local 프로파일은 메모리 인덱스(InMemoryUsernameSearchIndex)
+public interface UsernameSearchIndex {
+
+    List<Long> search(String term, UsernameMatch match, int limit);
+
+    // 엔티티 리스너를 거치지 않는 변경(벌크 update / delete, COPY) 뒤에 호출한다. DB 인덱스는 할 일이 없다.
+    default void invalidate() {
+    }
+
+}
@@ -0,0 +1,226 @@
+package com.studyquerydsl.repository.support;
+
+import com.querydsl.core.DefaultQueryMetadata;
+import com.querydsl.core.JoinExpression;
+import com.querydsl.core.JoinFlag;
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.QueryModifiers;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.CollectionExpression;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.ParamExpression;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.SimpleExpression;
+import com.querydsl.jpa.JPAQueryMixin;
+import com.querydsl.jpa.impl.JPAProvider;
+import com.querydsl.jpa.impl.JPAQuery;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceUnitUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// 컬렉션 fetch join(team.members 등) + offset/limit 페이징
+// Hibernate 는 이 조합을 SQL 로 페이징하지 못하고 전체를 읽어서 메모리에서 자른다. (HHH90003004)
+// 이 프로젝트는 hibernate.query.fail_on_pagination_over_collection_fetch=true 로 그런 쿼리를 바로 실패시키므로 이 헬퍼로 나눠서 실행한다.
+//   1단계: fetch 를 뺀 쿼리로 루트 엔티티 id 만 페이징 (조건/정렬에 쓰이지 않는 컬렉션 조인은 제거)
+//   2단계: 원래 쿼리(fetch join 포함)에서 offset/limit 을 빼고 id in (...) 으로 한 번에 조회, 1단계 순서로 정렬
+//
+// 예) FetchJoinPaging.fetch(em, queryFactory.selectFrom(team)
+//             .leftJoin(team.members, member).fetchJoin()
+//             .orderBy(team.name.asc())
+//             .offset(0).limit(20), team.id);
+@Slf4j
+public final class FetchJoinPaging {
+
+    public enum Policy {
+        SPLIT, // 2단계로 나눠서 실행
+        FAIL   // 컬렉션 fetch join + 페이징이면 예외 (호출한 쪽에서 쿼리를 고치도록)
+    }
+
+    private FetchJoinPaging() {
+    }
+
+    public static <T, ID> List<T> fetch(EntityManager em, JPAQuery<T> query, SimpleExpression<ID> id) {
+        return fetch(em, query, id, Policy.SPLIT);
+    }
+
+    // 컬렉션 fetch join 이 없거나 offset/limit 이 없으면 그대로 실행한다.
+    public static <T, ID> List<T> fetch(EntityManager em, JPAQuery<T> query, SimpleExpression<ID> id, Policy policy) {
+        QueryMetadata metadata = query.getMetadata();
+        QueryModifiers modifiers = metadata.getModifiers();
+        if (!hasCollectionFetchJoin(metadata) || modifiers == null || !modifiers.isRestricting()) {
+            return query.fetch();
+        }
+        if (policy == Policy.FAIL) {
+            throw new IllegalStateException("컬렉션 fetch join 과 offset/limit 을 함께 사용할 수 없습니다. (메모리 페이징) " + query);
+        }
+        checkRootProjection(metadata, id);
+
+        // 1단계: id 페이지
+        List<ID> ids = new ArrayList<>();
+        for (Object row : new JPAQuery<>(em, JPAProvider.getTemplates(em), idMetadata(metadata, id, false)).fetch()) {
+            @SuppressWarnings("unchecked")
+            ID value = row instanceof Tuple tuple ? tuple.get(id) : (ID) row;
+            ids.add(value);
+        }
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // 2단계: 해당 id 만 fetch join 으로 조회
+        List<T> rows = query.clone()
+                .restrict(QueryModifiers.EMPTY)
+                .where(id.in(ids))
+                .fetch();
+
+        PersistenceUnitUtil unitUtil = em.getEntityManagerFactory().getPersistenceUnitUtil();
+        Map<Object, T> byId = new HashMap<>(rows.size() * 2);
+        for (T row : rows) {
+            byId.putIfAbsent(unitUtil.getIdentifier(row), row);
+        }
+        List<T> result = new ArrayList<>(ids.size());
+        for (ID value : ids) {
+            T row = byId.get(value);
+            if (row != null) {
+                result.add(row);
+            }
+        }
+        return result;
+    }
+
+    // pageable 의 offset/limit 을 적용해서 나눠 조회하고, total 은 루트 id 의 count(distinct) 로 구한다. (정렬은 쿼리의 orderBy 사용)
+    public static <T, ID> Page<T> fetchPage(EntityManager em, JPAQuery<T> query, SimpleExpression<ID> id, Pageable pageable) {
+        JPAQuery<T> paged = query.clone()
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize());
+        List<T> content = fetch(em, paged, id, Policy.SPLIT);
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> {
+                    Long total = new JPAQuery<Long>(em, JPAProvider.getTemplates(em), idMetadata(query.getMetadata(), id, true)).fetchOne();
+                    return total != null ? total : 0L;
+                });
+    }
+
+    public static boolean hasCollectionFetchJoin(QueryMetadata metadata) {
+        for (JoinExpression join : metadata.getJoins()) {
+            if (isFetch(join) && collectionAlias(join) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // fetch 를 모두 빼고, 조건/정렬에서 쓰지 않는 컬렉션 조인은 제거한 id 조회 (count 면 count(distinct id))
+    private static QueryMetadata idMetadata(QueryMetadata metadata, SimpleExpression<?> id, boolean count) {
+        Set<Path<?>> filtered = new HashSet<>();
+        RootPathCollector.collect(metadata.getWhere(), filtered);
+        RootPathCollector.collect(metadata.getHaving(), filtered);
+        for (Expression<?> groupBy : metadata.getGroupBy()) {
+            RootPathCollector.collect(groupBy, filtered);
+        }
+        for (JoinExpression join : metadata.getJoins()) {
+            RootPathCollector.collect(join.getCondition(), filtered);
+            if (join.getTarget() instanceof Operation<?> alias && alias.getOperator() == Ops.ALIAS) {
+                RootPathCollector.collect(alias.getArg(0), filtered); // 다른 조인이 출발하는 별칭
+            }
+        }
+        Set<Path<?>> ordered = new HashSet<>();
+        for (OrderSpecifier<?> orderBy : metadata.getOrderBy()) {
+            RootPathCollector.collect(orderBy.getTarget(), ordered);
+        }
+
+        QueryMetadata idMetadata = new DefaultQueryMetadata();
+        boolean collectionJoined = false;
+        for (JoinExpression join : metadata.getJoins()) {
+            Path<?> collection = collectionAlias(join);
+            if (collection != null) {
+                if (ordered.contains(collection)) {
+                    throw new IllegalArgumentException("컬렉션 조인 별칭으로 정렬하면 루트 엔티티 단위로 페이징할 수 없습니다: " + collection);
+                }
+                if (!filtered.contains(collection)) {
+                    continue;
+                }
+                if (isFetch(join)) {
+                    log.warn("fetch join 한 컬렉션({})을 조건에 사용하면 컬렉션에 조건에 맞는 원소만 담깁니다.", collection);
+                }
+                collectionJoined = true;
+            }
+            idMetadata.addJoin(join.getType(), join.getTarget());
+            if (join.getCondition() != null) {
+                idMetadata.addJoinCondition(join.getCondition());
+            }
+            for (JoinFlag flag : join.getFlags()) {
+                if (!flag.equals(JPAQueryMixin.FETCH)) {
+                    idMetadata.addJoinFlag(flag);
+                }
+            }
+        }
+        if (metadata.getWhere() != null) {
+            idMetadata.addWhere(metadata.getWhere());
+        }
+        if (metadata.getHaving() != null) {
+            idMetadata.addHaving(metadata.getHaving());
+        }
+        for (Expression<?> groupBy : metadata.getGroupBy()) {
+            idMetadata.addGroupBy(groupBy);
+        }
+        for (Map.Entry<ParamExpression<?>, Object> param : metadata.getParams().entrySet()) {
+            @SuppressWarnings("unchecked")
+            ParamExpression<Object> key = (ParamExpression<Object>) param.getKey();
+            idMetadata.setParam(key, param.getValue());
+        }
+
+        if (count) {
+            idMetadata.setProjection(id.countDistinct());
+            return idMetadata;
+        }
+
+        // 컬렉션 조인이 남아 있으면 루트가 여러 row 가 되므로 distinct (정렬 컬럼도 select 에 있어야 한다)
+        boolean distinct = collectionJoined || metadata.isDistinct();
+        List<Expression<?>> columns = new ArrayList<>();
+        columns.add(id);
+        for (OrderSpecifier<?> orderBy : metadata.getOrderBy()) {
+            idMetadata.addOrderBy(orderBy);
+            if (distinct && !orderBy.getTarget().equals(id)) {
+                columns.add(orderBy.getTarget());
+            }
+        }
+        idMetadata.setDistinct(distinct);
+        idMetadata.setProjection(columns.size() == 1 ? id : Projections.tuple(columns));
+        idMetadata.setModifiers(metadata.getModifiers());
+        return idMetadata;
+    }
+
+    private static void checkRootProjection(QueryMetadata metadata, SimpleExpression<?> id) {
+        if (!(id instanceof Path<?> idPath) || !idPath.getRoot().equals(metadata.getProjection())) {
+            throw new IllegalArgumentException("selectFrom(루트 엔티티) 쿼리와 그 엔티티의 id path 를 넘겨야 합니다: " + id);
+        }
+    }
+
+    private static boolean isFetch(JoinExpression join) {
+        return join.getFlags().contains(JPAQueryMixin.FETCH);
+    }
+
+    // 컬렉션 조인이면 그 별칭 (별칭 없이 join(team.members) 로 조인했으면 컬렉션 path)
+    private static Path<?> collectionAlias(JoinExpression join) {
+        Expression<?> target = join.getTarget();
+        if (target instanceof Operation<?> alias && alias.getOperator() == Ops.ALIAS) {
+            return alias.getArg(0) instanceof CollectionExpression<?, ?> ? (Path<?>) alias.getArg(1) : null;
+        }
+        return target instanceof CollectionExpression<?, ?> && target instanceof Path<?> path ? path : null;
+    }
+
+}
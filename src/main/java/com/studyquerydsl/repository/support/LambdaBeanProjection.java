@@ -0,0 +1,179 @@
+package com.studyquerydsl.repository.support;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.FactoryExpressionBase;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.Visitor;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+// Projections.bean 과 같은 사용법이지만 row 마다 리플렉션(Method.invoke)을 하지 않는다.
+// 기본 생성자와 setter 를 LambdaMetafactory 로 Supplier / BiConsumer 로 만들어 두고 (클래스, 프로퍼티당 한 번)
+// row 마다 일반 메서드 호출처럼 객체를 생성하고 값을 채운다.
+//
+// 예) LambdaBeanProjection.of(UserDto.class, member.username.as("name"), member.age)
+//     ExpressionUtils.as(subQuery, "age") 처럼 별칭을 붙이면 별칭이 프로퍼티명이 된다.
+public final class LambdaBeanProjection<T> extends FactoryExpressionBase<T> {
+
+    private static final ClassValue<BeanAccessors> accessors = new ClassValue<>() {
+        @Override
+        protected BeanAccessors computeValue(Class<?> type) {
+            return new BeanAccessors(type);
+        }
+    };
+
+    private final List<Expression<?>> args;
+    private final Supplier<Object> constructor;
+    private final BiConsumer<Object, Object>[] setters;
+    private final boolean[] primitives;
+
+    @SuppressWarnings("unchecked")
+    private LambdaBeanProjection(Class<? extends T> type, Expression<?>... args) {
+        super(type);
+        this.args = Collections.unmodifiableList(Arrays.asList(args));
+
+        BeanAccessors beanAccessors = accessors.get(type);
+        this.constructor = beanAccessors.constructor();
+        this.setters = new BiConsumer[args.length];
+        this.primitives = new boolean[args.length];
+        for (int i = 0; i < args.length; i++) {
+            Setter setter = beanAccessors.setter(propertyName(args[i]));
+            setters[i] = setter.consumer();
+            primitives[i] = setter.primitive();
+        }
+    }
+
+    public static <T> LambdaBeanProjection<T> of(Class<? extends T> type, Expression<?>... args) {
+        return new LambdaBeanProjection<>(type, args);
+    }
+
+    @Override
+    public List<Expression<?>> getArgs() {
+        return args;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T newInstance(Object... values) {
+        Object bean = constructor.get();
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            // 원시 타입 프로퍼티에 null 이 오면 (left join 등) 기본값을 유지
+            if (value != null || !primitives[i]) {
+                setters[i].accept(bean, value);
+            }
+        }
+        return (T) bean;
+    }
+
+    @Override
+    public <R, C> R accept(Visitor<R, C> v, C context) {
+        return v.visit(this, context);
+    }
+
+    private static String propertyName(Expression<?> expr) {
+        if (expr instanceof Path<?> path) {
+            return path.getMetadata().getName();
+        }
+        if (expr instanceof Operation<?> operation && operation.getOperator() == Ops.ALIAS) {
+            return ((Path<?>) operation.getArg(1)).getMetadata().getName();
+        }
+        throw new IllegalArgumentException("프로퍼티명을 알 수 없는 표현식입니다. as() 로 별칭을 지정하세요: " + expr);
+    }
+
+    private record Setter(BiConsumer<Object, Object> consumer, boolean primitive) {
+    }
+
+    // 클래스별 생성자 / setter 람다 (ClassValue 로 클래스당 하나만 만든다)
+    private static final class BeanAccessors {
+
+        private static final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+        private final Class<?> type;
+        private final Supplier<Object> constructor;
+        private final Map<String, Setter> setters = new ConcurrentHashMap<>();
+
+        BeanAccessors(Class<?> type) {
+            this.type = type;
+            this.constructor = createConstructor(type);
+        }
+
+        Supplier<Object> constructor() {
+            return constructor;
+        }
+
+        Setter setter(String property) {
+            return setters.computeIfAbsent(property, this::createSetter);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Supplier<Object> createConstructor(Class<?> type) {
+            try {
+                MethodHandle handle = lookup.findConstructor(type, MethodType.methodType(void.class));
+                CallSite site = LambdaMetafactory.metafactory(lookup,
+                        "get",
+                        MethodType.methodType(Supplier.class),
+                        MethodType.methodType(Object.class),
+                        handle,
+                        MethodType.methodType(type));
+                return (Supplier<Object>) site.getTarget().invokeExact();
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                throw new IllegalArgumentException(type.getName() + " 에 public 기본 생성자가 필요합니다.", e);
+            } catch (Throwable e) {
+                throw new IllegalStateException(type.getName() + " 생성자 람다 생성 실패", e);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private Setter createSetter(String property) {
+            Method method = findSetter(property);
+            Class<?> paramType = method.getParameterTypes()[0];
+            try {
+                MethodHandle handle = lookup.unreflect(method);
+                CallSite site = LambdaMetafactory.metafactory(lookup,
+                        "accept",
+                        MethodType.methodType(BiConsumer.class),
+                        MethodType.methodType(void.class, Object.class, Object.class),
+                        handle,
+                        // 원시 타입 파라미터는 래퍼 타입으로 받아서 언박싱
+                        MethodType.methodType(void.class, type, MethodType.methodType(paramType).wrap().returnType()));
+                return new Setter((BiConsumer<Object, Object>) site.getTarget().invokeExact(), paramType.isPrimitive());
+            } catch (Throwable e) {
+                throw new IllegalStateException(type.getName() + "." + property + " setter 람다 생성 실패", e);
+            }
+        }
+
+        private Method findSetter(String property) {
+            String name = "set" + Character.toUpperCase(property.charAt(0)) + property.substring(1);
+            List<Method> candidates = new ArrayList<>();
+            for (Method method : type.getMethods()) {
+                if (method.getName().equals(name) && method.getParameterCount() == 1
+                        && !Modifier.isStatic(method.getModifiers())) {
+                    candidates.add(method);
+                }
+            }
+            if (candidates.size() != 1) {
+                throw new IllegalArgumentException(type.getName() + " 에서 " + property
+                        + " 프로퍼티의 public setter 를 하나로 찾을 수 없습니다. (찾은 수: " + candidates.size() + ")");
+            }
+            return candidates.get(0);
+        }
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.studyquerydsl.repository.support;
+
+import com.querydsl.core.types.EntityPath;
+import com.querydsl.core.types.Path;
+import com.querydsl.jpa.impl.JPAQuery;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+// select / where / having / group by / order by 에서 실제로 참조하는 별칭의 조인만 붙인다.
+// 예) count 쿼리에서 team 을 참조하는 조건이 없으면 member 단일 테이블 조회가 된다.
+//
+// 조인을 빼도 결과 row 가 달라지지 않는 to-one 연관관계의 left join 만 등록할 수 있다.
+// (inner join 이나 컬렉션 조인은 빼면 row 수가 달라지므로 항상 직접 조인해야 한다.)
+public final class OptionalJoins {
+
+    private final List<JoinSpec> joins;
+
+    private OptionalJoins(List<JoinSpec> joins) {
+        this.joins = joins;
+    }
+
+    public static OptionalJoins create() {
+        return new OptionalJoins(List.of());
+    }
+
+    // 불변 객체이므로 static final 로 만들어 두고 공유해도 된다.
+    public <P> OptionalJoins leftJoin(EntityPath<P> target, Path<P> alias) {
+        List<JoinSpec> newJoins = new ArrayList<>(joins);
+        newJoins.add(new JoinSpec(alias, target.getRoot(), query -> query.leftJoin(target, alias)));
+        return new OptionalJoins(List.copyOf(newJoins));
+    }
+
+    // select, where, orderBy 등을 모두 지정한 뒤 호출한다.
+    public <T> JPAQuery<T> applyTo(JPAQuery<T> query) {
+        Set<Path<?>> referenced = new HashSet<>();
+        RootPathCollector.collect(query.getMetadata(), referenced);
+
+        // 뒤에서부터 보면서, 필요한 조인이 의존하는 별칭(member.team 의 member 등)도 필요한 것으로 표시
+        boolean[] required = new boolean[joins.size()];
+        for (int i = joins.size() - 1; i >= 0; i--) {
+            JoinSpec join = joins.get(i);
+            if (referenced.contains(join.alias())) {
+                required[i] = true;
+                referenced.add(join.source());
+            }
+        }
+
+        for (int i = 0; i < joins.size(); i++) {
+            if (required[i]) {
+                joins.get(i).joiner().accept(query);
+            }
+        }
+        return query;
+    }
+
+    private record JoinSpec(Path<?> alias, Path<?> source, Consumer<JPAQuery<?>> joiner) {
+    }
+
+}
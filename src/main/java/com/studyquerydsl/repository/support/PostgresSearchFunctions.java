@@ -0,0 +1,22 @@
+package com.studyquerydsl.repository.support;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+// JPQL/QueryDSL 에서 pg_trgm 함수를 쓸 수 있도록 Hibernate 에 등록한다. (META-INF/services 로 등록)
+//   function('similarity', a, b) -> similarity(a, b)
+//   function('trgm_match', a, b) -> (a % b)
+public class PostgresSearchFunctions implements FunctionContributor {
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicTypeRegistry types = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+        functionContributions.getFunctionRegistry()
+                .registerNamed("similarity", types.resolve(StandardBasicTypes.DOUBLE));
+        functionContributions.getFunctionRegistry()
+                .registerPattern("trgm_match", "(?1 % ?2)", types.resolve(StandardBasicTypes.BOOLEAN));
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.studyquerydsl.repository.support;
+
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.types.*;
+
+import java.util.Set;
+
+// 표현식에서 참조하는 path 의 root 별칭(member, team ...)을 모은다.
+// 서브쿼리 안의 별칭까지 모두 모으므로 필요 이상으로 모을 수는 있어도 빠뜨리지는 않는다.
+final class RootPathCollector implements Visitor<Void, Set<Path<?>>> {
+
+    static final RootPathCollector INSTANCE = new RootPathCollector();
+
+    private RootPathCollector() {
+    }
+
+    static void collect(QueryMetadata metadata, Set<Path<?>> roots) {
+        collect(metadata.getProjection(), roots);
+        collect(metadata.getWhere(), roots);
+        collect(metadata.getHaving(), roots);
+        for (Expression<?> groupBy : metadata.getGroupBy()) {
+            collect(groupBy, roots);
+        }
+        for (OrderSpecifier<?> orderBy : metadata.getOrderBy()) {
+            collect(orderBy.getTarget(), roots);
+        }
+        for (JoinExpression join : metadata.getJoins()) {
+            collect(join.getCondition(), roots); // 이미 추가된 조인의 on 절
+        }
+    }
+
+    static void collect(Expression<?> expression, Set<Path<?>> roots) {
+        if (expression != null) {
+            expression.accept(INSTANCE, roots);
+        }
+    }
+
+    @Override
+    public Void visit(Constant<?> expr, Set<Path<?>> roots) {
+        return null;
+    }
+
+    @Override
+    public Void visit(FactoryExpression<?> expr, Set<Path<?>> roots) {
+        for (Expression<?> arg : expr.getArgs()) {
+            collect(arg, roots);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visit(Operation<?> expr, Set<Path<?>> roots) {
+        for (Expression<?> arg : expr.getArgs()) {
+            collect(arg, roots);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visit(ParamExpression<?> expr, Set<Path<?>> roots) {
+        return null;
+    }
+
+    @Override
+    public Void visit(Path<?> expr, Set<Path<?>> roots) {
+        roots.add(expr.getRoot());
+        return null;
+    }
+
+    @Override
+    public Void visit(SubQueryExpression<?> expr, Set<Path<?>> roots) {
+        collect(expr.getMetadata(), roots);
+        return null;
+    }
+
+    @Override
+    public Void visit(TemplateExpression<?> expr, Set<Path<?>> roots) {
+        for (Object arg : expr.getArgs()) {
+            if (arg instanceof Expression<?> expression) {
+                collect(expression, roots);
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,181 @@
+package com.studyquerydsl.service;
+
+import com.querydsl.core.types.Predicate;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.jpa.impl.JPAUpdateClause;
+import com.studyquerydsl.entity.Member;
+import com.studyquerydsl.repository.MemberCountProvider;
+import com.studyquerydsl.repository.MemberSearchResultCache;
+import com.studyquerydsl.repository.TeamStatsRepository;
+import com.studyquerydsl.repository.UsernameSearchIndex;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static com.studyquerydsl.entity.QMember.member;
+
+// member 벌크 update / delete
+// - 대상 row 를 id 순으로 chunkSize 개씩 나눠서 실행한다. (한 번에 잠그는 row 와 WAL 양을 제한)
+//   chunk 경계는 실제 대상 id 로 정하므로 id 가 듬성듬성해도 빈 chunk 가 생기지 않는다.
+// - 호출한 쪽 트랜잭션이 없으면 chunk 마다 트랜잭션을 커밋하고, 있으면 그 트랜잭션 안에서 chunk 만 나눠 실행한다.
+// - 실행 전 영속성 컨텍스트를 flush 하고, 실행 후 영향 범위의 Member 엔티티를 영속성 컨텍스트에서 제거한다.
+//   (QuerydslBasicTest.bulkUpdate 처럼 em.flush(); em.clear(); 를 직접 호출할 필요가 없다. Member 는 2차 캐시 대상이 아니다)
+// - count 캐시, 검색 결과 캐시(MemberSearchResultCache), 팀 집계(TeamStatsRepository), 이름 검색 인덱스도 갱신 대상으로 표시한다. (트랜잭션 종료 후 한 번 더)
+//
+// 예) bulkOperations.update(member.age.lt(28), update -> update.set(member.username, "비회원"));
+@Slf4j
+@Service
+public class MemberBulkOperations {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private final JPAQueryFactory queryFactory;
+    private final TransactionTemplate chunkTx;
+    private final MemberCountProvider countProvider;
+    private final MemberSearchResultCache resultCache;
+    private final TeamStatsRepository teamStatsRepository;
+    private final UsernameSearchIndex usernameSearchIndex;
+    private final int defaultChunkSize;
+
+    public MemberBulkOperations(JPAQueryFactory queryFactory,
+                                PlatformTransactionManager transactionManager,
+                                MemberCountProvider countProvider,
+                                MemberSearchResultCache resultCache,
+                                TeamStatsRepository teamStatsRepository,
+                                UsernameSearchIndex usernameSearchIndex,
+                                @Value("${member.bulk.chunk-size:10000}") int defaultChunkSize) {
+        this.queryFactory = queryFactory;
+        this.chunkTx = new TransactionTemplate(transactionManager);
+        this.chunkTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.countProvider = countProvider;
+        this.resultCache = resultCache;
+        this.teamStatsRepository = teamStatsRepository;
+        this.usernameSearchIndex = usernameSearchIndex;
+        this.defaultChunkSize = defaultChunkSize;
+    }
+
+    public BulkResult update(Predicate where, Consumer<JPAUpdateClause> setter) {
+        return update(where, setter, defaultChunkSize);
+    }
+
+    public BulkResult update(Predicate where, Consumer<JPAUpdateClause> setter, int chunkSize) {
+        return run(where, chunkSize, (from, to) -> {
+            JPAUpdateClause update = queryFactory.update(member);
+            setter.accept(update);
+            return update.where(where, member.id.between(from, to)).execute();
+        });
+    }
+
+    public BulkResult delete(Predicate where) {
+        return delete(where, defaultChunkSize);
+    }
+
+    public BulkResult delete(Predicate where, int chunkSize) {
+        return run(where, chunkSize, (from, to) -> queryFactory
+                .delete(member)
+                .where(where, member.id.between(from, to))
+                .execute());
+    }
+
+    private BulkResult run(Predicate where, int chunkSize, ChunkStatement statement) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize 는 1 이상이어야 합니다: " + chunkSize);
+        }
+        boolean inCallerTx = TransactionSynchronizationManager.isActualTransactionActive();
+        if (inCallerTx) {
+            em.flush(); // 아직 반영되지 않은 변경이 벌크 연산에 덮어써지지 않도록
+        }
+
+        // 다음 chunk 는 이전 chunk 의 마지막 id 다음부터 (where id > :last order by id limit :chunkSize)
+        List<ChunkResult> chunks = new ArrayList<>();
+        Long lastId = null;
+        while (true) {
+            Long after = lastId;
+            long start = System.nanoTime();
+            ChunkResult chunk = inTx(inCallerTx, () -> {
+                List<Long> ids = queryFactory
+                        .select(member.id)
+                        .from(member)
+                        .where(where, after != null ? member.id.gt(after) : null)
+                        .orderBy(member.id.asc())
+                        .limit(chunkSize)
+                        .fetch();
+                if (ids.isEmpty()) {
+                    return null;
+                }
+                long from = ids.get(0);
+                long to = ids.get(ids.size() - 1);
+                long rows = statement.execute(from, to);
+                return new ChunkResult(from, to, rows, (System.nanoTime() - start) / 1_000_000);
+            });
+            if (chunk == null) {
+                break;
+            }
+            chunks.add(chunk);
+            lastId = chunk.toId();
+        }
+        if (!chunks.isEmpty()) {
+            evict(inCallerTx, chunks.get(0).fromId(), lastId);
+        }
+
+        BulkResult result = new BulkResult(chunks);
+        log.debug("member 벌크 연산: {} 건, chunk {} 개", result.getTotalRows(), chunks.size());
+        return result;
+    }
+
+    private <T> T inTx(boolean inCallerTx, Supplier<T> work) {
+        return inCallerTx ? work.get() : chunkTx.execute(status -> work.get());
+    }
+
+    // 벌크 연산은 엔티티 리스너 / 영속성 컨텍스트를 거치지 않으므로 직접 정리한다.
+    private void evict(boolean inCallerTx, long minId, long maxId) {
+        if (inCallerTx) {
+            SessionImplementor session = em.unwrap(SessionImplementor.class);
+            for (Map.Entry<Object, EntityEntry> entry : session.getPersistenceContextInternal().reentrantSafeEntityEntries()) {
+                if (entry.getKey() instanceof Member managed && managed.getId() != null
+                        && managed.getId() >= minId && managed.getId() <= maxId) {
+                    em.detach(managed);
+                }
+            }
+        }
+        countProvider.invalidate();
+        resultCache.invalidateAll();
+        teamStatsRepository.invalidate();
+        usernameSearchIndex.invalidate();
+    }
+
+    @FunctionalInterface
+    private interface ChunkStatement {
+        long execute(long fromId, long toId);
+    }
+
+    public record ChunkResult(long fromId, long toId, long rows, long elapsedMillis) {
+    }
+
+    public record BulkResult(List<ChunkResult> chunks) {
+
+        public long getTotalRows() {
+            long total = 0;
+            for (ChunkResult chunk : chunks) {
+                total += chunk.rows();
+            }
+            return total;
+        }
+    }
+
+}
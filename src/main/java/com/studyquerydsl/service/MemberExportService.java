@@ -0,0 +1,90 @@
+package com.studyquerydsl.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studyquerydsl.dto.MemberSearchCondition;
+import com.studyquerydsl.dto.MemberTeamDto;
+import com.studyquerydsl.repository.MemberJpaRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// 검색 결과를 한 건씩 읽어서 바로 응답 스트림에 쓴다. 결과 크기와 상관없이 메모리 사용량이 일정하다.
+@Service
+@RequiredArgsConstructor
+public class MemberExportService {
+
+    private static final int FETCH_SIZE = 500;
+    private static final int CLEAR_INTERVAL = 1_000;
+
+    private final MemberJpaRepository memberJpaRepository;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    // 한 줄에 JSON 하나 (application/x-ndjson)
+    @Transactional(readOnly = true)
+    public void exportNdjson(MemberSearchCondition condition, OutputStream out) throws IOException {
+        try (Stream<MemberTeamDto> stream = memberJpaRepository.searchStream(condition, FETCH_SIZE)) {
+            Iterator<MemberTeamDto> iterator = stream.iterator();
+            long count = 0;
+            while (iterator.hasNext()) {
+                out.write(objectMapper.writeValueAsBytes(iterator.next()));
+                out.write('\n');
+                clearPeriodically(++count);
+            }
+        }
+        out.flush();
+    }
+
+    @Transactional(readOnly = true)
+    public void exportCsv(MemberSearchCondition condition, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write("id,username,age,teamId,teamName\n");
+
+        try (Stream<MemberTeamDto> stream = memberJpaRepository.searchStream(condition, FETCH_SIZE)) {
+            Iterator<MemberTeamDto> iterator = stream.iterator();
+            long count = 0;
+            while (iterator.hasNext()) {
+                MemberTeamDto dto = iterator.next();
+                writer.write(String.valueOf(dto.getId()));
+                writer.write(',');
+                writer.write(csv(dto.getUsername()));
+                writer.write(',');
+                writer.write(String.valueOf(dto.getAge()));
+                writer.write(',');
+                writer.write(dto.getTeamId() != null ? String.valueOf(dto.getTeamId()) : "");
+                writer.write(',');
+                writer.write(csv(dto.getTeamName()));
+                writer.write('\n');
+                clearPeriodically(++count);
+            }
+        }
+        writer.flush(); // 응답 스트림은 컨테이너가 닫는다.
+    }
+
+    // DTO 조회라 엔티티가 쌓이지는 않지만, 긴 스트리밍 동안 영속성 컨텍스트가 커지지 않도록 주기적으로 비운다.
+    private void clearPeriodically(long count) {
+        if (count % CLEAR_INTERVAL == 0) {
+            em.clear();
+        }
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+}
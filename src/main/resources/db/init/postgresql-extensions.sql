@@ -0,0 +1,3 @@
+-- Flyway 를 쓰지 않는 PostgreSQL 프로파일(test, dev)에서 애플리케이션 시작 시 실행한다. (spring.sql.init)
+-- db/migration/V3__enable_pg_trgm.sql 과 같은 내용. 이름 부분/유사 검색(PostgresUsernameSearchIndex)에 필요
+create extension if not exists pg_trgm;
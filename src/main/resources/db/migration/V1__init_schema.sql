@@ -0,0 +1,20 @@
+-- ddl-auto 로 만들어지던 스키마 (이미 테이블이 있는 DB 는 baseline-on-migrate 로 V1 을 건너뛴다)
+create sequence if not exists team_seq start with 1 increment by 50;
+create sequence if not exists member_seq start with 1 increment by 50;
+
+create table if not exists team
+(
+    id   bigint not null,
+    name varchar(255),
+    primary key (id)
+);
+
+create table if not exists member
+(
+    member_id bigint  not null,
+    username  varchar(255),
+    age       integer not null,
+    team_id   bigint,
+    primary key (member_id),
+    constraint fk_member_team foreign key (team_id) references team
+);
@@ -0,0 +1,9 @@
+-- 검색 조건별 인덱스 (Member / Team 의 @Table(indexes) 와 같은 이름)
+-- 운영 중 테이블 잠금을 피하기 위해 concurrently 로 만든다.
+-- concurrently 는 트랜잭션 안에서 실행할 수 없으므로 Flyway 가 이 파일 전체를 autocommit 으로 실행한다.
+-- 그래서 이 파일에는 create index concurrently 외의 문장을 넣지 않는다. (섞이면 Flyway 가 실패하고, 중간에 실패해도 롤백되지 않는다)
+-- Flyway 의 트랜잭션 advisory lock 도 기다리게 되므로 spring.flyway.postgresql.transactional-lock=false 가 필요하다. (application-prd.yml)
+create index concurrently if not exists idx_member_username on member (username);
+create index concurrently if not exists idx_member_team_id_age on member (team_id, age);
+create index concurrently if not exists idx_member_age on member (age);
+create index concurrently if not exists idx_team_name on team (name);
@@ -0,0 +1,3 @@
+-- 이름 부분/유사 검색(UsernameMatch.CONTAINS, FUZZY)용 확장
+-- Flyway 를 쓰지 않는 프로파일(test, dev)은 db/init/postgresql-extensions.sql 로 만든다.
+create extension if not exists pg_trgm;
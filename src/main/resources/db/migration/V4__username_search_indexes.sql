@@ -0,0 +1,5 @@
+-- like '%x%' 와 % 연산자(유사도)는 trigram GIN 인덱스, like 'x%' 는 pattern_ops B-tree 인덱스를 사용한다.
+-- (기본 collation 이 C 가 아니면 일반 B-tree 인덱스로는 like 'x%' 를 처리하지 못한다)
+-- V2 와 같이 concurrently 로 만들므로 이 파일에는 다른 문장을 넣지 않는다. (pg_trgm 확장은 V3 에서 따로 만든다)
+create index concurrently if not exists idx_member_username_trgm on member using gin (username gin_trgm_ops);
+create index concurrently if not exists idx_member_username_pattern on member (username varchar_pattern_ops);
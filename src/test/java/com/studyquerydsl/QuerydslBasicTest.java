@@ -15,10 +15,13 @@ import com.studyquerydsl.dto.UserDto;
 import com.studyquerydsl.entity.Member;
 import com.studyquerydsl.entity.QMember;
 import com.studyquerydsl.entity.Team;
+import com.studyquerydsl.repository.RowQueryExecutor;
+import com.studyquerydsl.repository.support.LambdaBeanProjection;
 import jakarta.persistence.*;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -28,6 +31,7 @@ import org.springframework.test.annotation.Commit;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static com.querydsl.jpa.JPAExpressions.select;
@@ -46,6 +50,9 @@ public class QuerydslBasicTest {
     // 따로 필드 레벨로 빼도 무방
     JPAQueryFactory queryFactory;
 
+    @Autowired
+    RowQueryExecutor rowQueryExecutor;
+
     @BeforeEach
     public void before() {
         queryFactory = new JPAQueryFactory(em);
@@ -753,6 +760,25 @@ public class QuerydslBasicTest {
         }
     }
 
+    // Tuple 을 만들지 않고 커서에서 컬럼 값만 받아서 처리 (대량 집계/리포트용)
+    @Test
+    public void tupleProjectionByRowCallback() {
+        long[] ageSum = {0};
+        List<String> usernames = new ArrayList<>();
+
+        long rows = rowQueryExecutor.forEachRow(queryFactory
+                .select(member.username, member.age)
+                .from(member)
+                .orderBy(member.username.asc()), row -> {
+            usernames.add(row.get(member.username));
+            ageSum[0] += row.getInt(1);
+        });
+
+        Assertions.assertThat(rows).isEqualTo(4);
+        Assertions.assertThat(usernames).containsExactly("member1", "member2", "member3", "member4");
+        Assertions.assertThat(ageSum[0]).isEqualTo(100);
+    }
+
     // ==== 프로젝션과 결과 반환 - DTO 조회 ====
     @Test
     public void findDtoByJPQL() { // 순수 JPA 방식 (new operation 사용)
@@ -855,6 +881,26 @@ public class QuerydslBasicTest {
         }
     }
 
+    // Projections.bean 과 같은 방식이지만 row 마다 리플렉션을 하지 않는다. (LambdaMetafactory 로 만든 setter 사용)
+    @Test
+    public void findUserDtoByLambdaBean() {
+        QMember memberSub = new QMember("memberSub");
+
+        List<UserDto> result = queryFactory
+                .select(LambdaBeanProjection.of(UserDto.class,
+                        member.username.as("name"),
+                        ExpressionUtils.as(select(memberSub.age.max())
+                                .from(memberSub), "age")
+                ))
+                .from(member)
+                .fetch();
+
+        Assertions.assertThat(result).extracting("name")
+                .containsExactlyInAnyOrder("member1", "member2", "member3", "member4");
+        Assertions.assertThat(result).extracting("age")
+                .containsOnly(40);
+    }
+
     // ==== 프로젝션과 결과 반환 - @QueryProjection ====
     // MemberDto 특정 파라미터를 갖는 생성자를 명시적으로 만들고 그 위에 @QueryProjection을 붙이면, QueryDSL이 해당 생성자를 기반으로 Q타입을 생성
     @Test
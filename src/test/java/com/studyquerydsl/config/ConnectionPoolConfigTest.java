@@ -0,0 +1,40 @@
+package com.studyquerydsl.config;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// application.properties / application-test.yml 의 풀, PostgreSQL 드라이버 설정이 실제 풀에 적용되는지 확인
+@SpringBootTest
+@ActiveProfiles("test")
+class ConnectionPoolConfigTest {
+
+    @Autowired DataSource dataSource;
+    @Autowired MeterRegistry meterRegistry;
+
+    @Test
+    public void poolAndDriverSettings() {
+        HikariDataSource pool = DataSourceUnwrapper.unwrap(dataSource, HikariConfigMXBean.class, HikariDataSource.class);
+
+        assertThat(pool).isNotNull();
+        assertThat(pool.getPoolName()).isEqualTo("member");
+        assertThat(pool.getMaximumPoolSize()).isEqualTo(5);
+        assertThat(pool.getConnectionTimeout()).isEqualTo(5000);
+        assertThat(pool.getDataSourceProperties())
+                .containsEntry("prepareThreshold", "3")
+                .containsEntry("preparedStatementCacheQueries", "512")
+                .containsEntry("preparedStatementCacheSizeMiB", "10")
+                .containsEntry("reWriteBatchedInserts", "true");
+        assertThat(meterRegistry.find("datasource.pool.saturation").tag("pool", "member").gauge()).isNotNull();
+    }
+
+}
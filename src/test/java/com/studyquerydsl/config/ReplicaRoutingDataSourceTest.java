@@ -0,0 +1,42 @@
+package com.studyquerydsl.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = new SimpleDriverDataSource();
+    private final DataSource replica = new SimpleDriverDataSource();
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    public void routeByReadOnlyAndLag() {
+        ReplicaLagMonitor lagMonitor = new ReplicaLagMonitor(replica, Duration.ofSeconds(5));
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replica, lagMonitor, new SimpleMeterRegistry());
+
+        // 레플리카 상태 확인 전(또는 실패)에는 읽기 전용이어도 primary
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(DataSourceRoute.PRIMARY);
+
+        lagMonitor.setReplicaUsable(true);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(DataSourceRoute.REPLICA);
+
+        // 쓰기 트랜잭션은 항상 primary
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(DataSourceRoute.PRIMARY);
+
+    }
+
+}
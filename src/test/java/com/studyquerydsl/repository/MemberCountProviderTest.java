@@ -0,0 +1,52 @@
+package com.studyquerydsl.repository;
+
+import com.studyquerydsl.dto.MemberSearchCondition;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberCountProviderTest {
+
+    // CACHED 는 DB 를 직접 조회하지 않으므로 JdbcTemplate 없이 확인한다.
+    private final MemberCountProvider countProvider =
+            new MemberCountProvider(null, null, CountMode.EXACT, Duration.ofMinutes(1), 1_000, 10_000);
+
+    @Test
+    public void cachedCountIsNotReportedAsExact() {
+        AtomicLong total = new AtomicLong(10);
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamA");
+
+        MemberCountProvider.TotalCount first = countProvider.count(condition, CountMode.CACHED, total::get);
+        total.set(11); // 캐시된 뒤 바뀐 값
+        MemberCountProvider.TotalCount cached = countProvider.count(condition, CountMode.CACHED, total::get);
+
+        assertThat(first).isEqualTo(new MemberCountProvider.TotalCount(10, true)); // 방금 count 한 값
+        assertThat(cached).isEqualTo(new MemberCountProvider.TotalCount(10, false)); // ttl 동안 오래된 값일 수 있다.
+
+        countProvider.invalidate();
+        assertThat(countProvider.count(condition, CountMode.CACHED, total::get))
+                .isEqualTo(new MemberCountProvider.TotalCount(11, true));
+    }
+
+    @Test
+    public void countInvalidatedWhileComputingIsNotCached() {
+        AtomicLong total = new AtomicLong(10);
+        MemberSearchCondition condition = new MemberSearchCondition();
+
+        // count 하는 도중 다른 트랜잭션이 회원을 바꾼 경우
+        countProvider.count(condition, CountMode.CACHED, () -> {
+            long value = total.get();
+            total.set(11);
+            countProvider.invalidate();
+            return value;
+        });
+
+        assertThat(countProvider.count(condition, CountMode.CACHED, total::get))
+                .isEqualTo(new MemberCountProvider.TotalCount(11, true));
+    }
+
+}
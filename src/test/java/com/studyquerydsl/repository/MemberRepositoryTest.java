@@ -1,9 +1,12 @@
 package com.studyquerydsl.repository;
 
 import com.studyquerydsl.dto.MemberSearchCondition;
+import com.studyquerydsl.dto.MemberTeamColumns;
 import com.studyquerydsl.dto.MemberTeamDto;
+import com.studyquerydsl.dto.MemberTeamSlice;
 import com.studyquerydsl.entity.Member;
 import com.studyquerydsl.entity.Team;
+import com.studyquerydsl.support.QueryCountAssertions;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import org.assertj.core.api.Assertions;
@@ -13,8 +16,11 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -30,6 +36,9 @@ class MemberRepositoryTest {
     @Autowired
     MemberRepository memberRepository;
 
+    @Autowired
+    ReadOnlyQueryExecutor readOnlyQueryExecutor;
+
     @Test
     public void basicTest() {
         Member member = new Member("member1", 10);
@@ -71,6 +80,92 @@ class MemberRepositoryTest {
         Assertions.assertThat(result).extracting("username").containsExactly("member4");
     }
 
+    @Test
+    public void searchColumns() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, null));
+        em.flush(); // JdbcTemplate 으로 조회하므로 먼저 반영
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeLoe(30);
+
+        MemberTeamColumns columns = memberRepository.searchColumns(condition);
+
+        Assertions.assertThat(columns.size()).isEqualTo(3);
+        Assertions.assertThat(columns.getTeamNameDictionary()).containsExactly("teamA"); // 팀 이름은 한 번만 저장
+        List<MemberTeamDto> rows = new ArrayList<>();
+        for (int i = 0; i < columns.size(); i++) {
+            rows.add(columns.toDto(i));
+        }
+        Assertions.assertThat(rows).usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyInAnyOrderElementsOf(memberRepository.search(condition));
+    }
+
+    // 지연 로딩 team 을 member 마다 읽으면 팀 수만큼 추가 SQL 이 나간다. (N+1, member.fetch.mode 기본값 none)
+    @Test
+    public void teamLazyLoadingQueryCount() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        Member member1 = new Member("member1", 10, teamA);
+        Member member2 = new Member("member2", 20, teamB);
+        em.persist(member1);
+        em.persist(member2);
+        em.flush();
+        em.clear();
+
+        List<Member> members = QueryCountAssertions.assertQueryCount(1,
+                () -> memberRepository.findAllById(List.of(member1.getId(), member2.getId())));
+        QueryCountAssertions.assertQueryCount(2, () -> members.forEach(m -> m.getTeam().getName()));
+    }
+
+    @Test
+    public void searchPageDeferred() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        for (int i = 0; i < 10; i++) {
+            em.persist(new Member("deferred" + i, 20 + i, i % 2 == 0 ? teamA : teamB));
+        }
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamA");
+        condition.setAgeGoe(20);
+        condition.setAgeLoe(29);
+
+        Page<MemberTeamDto> result = memberRepository.searchPageDeferred(condition, PageRequest.of(1, 2), CountMode.EXACT);
+
+        // teamA: deferred0, 2, 4, 6, 8 -> 두 번째 페이지 (id 순)
+        Assertions.assertThat(result.getContent()).extracting("username").containsExactly("deferred4", "deferred6");
+        Assertions.assertThat(result.getContent()).extracting("teamName").containsOnly("teamA");
+        Assertions.assertThat(result.getTotalElements()).isEqualTo(5);
+    }
+
+    @Test
+    public void searchUsername() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        em.persist(new Member("srch-banana", 10, teamA));
+        em.persist(new Member("srch-apricot", 20, teamA));
+        em.persist(new Member("srch-apple", 30, teamA));
+
+        List<MemberTeamDto> prefix = memberRepository.searchUsername("srch-ap", UsernameMatch.PREFIX, 10);
+        List<MemberTeamDto> contains = memberRepository.searchUsername("nan", UsernameMatch.CONTAINS, 10);
+        List<MemberTeamDto> fuzzy = memberRepository.searchUsername("srch-banan", UsernameMatch.FUZZY, 10);
+
+        // 이름순
+        Assertions.assertThat(prefix).extracting("username").containsExactly("srch-apple", "srch-apricot");
+        Assertions.assertThat(prefix).extracting("teamName").containsOnly("teamA");
+        Assertions.assertThat(contains).extracting("username").contains("srch-banana");
+        // 오타가 있어도 trigram 유사도(0.3 이상)로 찾는다. apricot / apple 은 0.3 미만
+        Assertions.assertThat(fuzzy).extracting("username").containsExactly("srch-banana");
+    }
+
     @Test
     public void searchPageComplex() {
         Team teamA = new Team("teamA");
@@ -97,4 +192,83 @@ class MemberRepositoryTest {
         Assertions.assertThat(result.getContent()).extracting("username").containsExactly("member1", "member2", "member3");
     }
 
-}
\ No newline at end of file
+    @Test
+    public void searchSlice() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+
+        MemberTeamSlice first = memberRepository.searchSlice(condition, null, 3);
+        Assertions.assertThat(first.getContent()).extracting("username").containsExactly("member1", "member2", "member3");
+        Assertions.assertThat(first.isHasNext()).isTrue();
+
+        MemberTeamSlice second = memberRepository.searchSlice(condition, first.getNextCursor(), 3);
+        Assertions.assertThat(second.getContent()).extracting("username").containsExactly("member4");
+        Assertions.assertThat(second.isHasNext()).isFalse();
+        Assertions.assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test
+    public void searchPageComplexCountWithTeamName() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamB");
+
+        // count 쿼리는 team 조인 없이 팀 id 로 필터링한다.
+        Page<MemberTeamDto> result = memberRepository.searchPageComplex(condition, PageRequest.of(0, 1));
+
+        Assertions.assertThat(result.getContent()).extracting("teamName").containsExactly("teamB");
+        Assertions.assertThat(result.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    public void searchPageParallelIsolation() {
+        Team team = new Team("parallelTeam");
+        em.persist(team);
+        em.persist(new Member("parallelMember", 10, team));
+        em.flush(); // 테스트 트랜잭션 안에서만 보이는 (커밋되지 않은) 데이터
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsername("parallelMember");
+        PageRequest pageRequest = PageRequest.of(0, 10);
+
+        // 같은 트랜잭션에서는 보인다.
+        Assertions.assertThat(memberRepository.searchPageComplex(condition, pageRequest).getTotalElements()).isEqualTo(1);
+
+        // 병렬 조회는 별도 커넥션의 새 트랜잭션이므로 커밋되지 않은 데이터가 보이지 않는다.
+        Page<MemberTeamDto> parallel = memberRepository.searchPageParallel(condition, pageRequest, Duration.ofSeconds(5));
+        Assertions.assertThat(parallel.getContent()).isEmpty();
+        Assertions.assertThat(parallel.getTotalElements()).isEqualTo(0);
+    }
+
+    @Test
+    public void readOnlyQueryExecutorRunsInNewReadOnlyTransaction() {
+        Thread caller = Thread.currentThread();
+
+        Boolean readOnly = readOnlyQueryExecutor.supplyReadOnly(() -> {
+            Assertions.assertThat(Thread.currentThread()).isNotSameAs(caller);
+            Assertions.assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isTrue();
+            return TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        }, Duration.ofSeconds(5)).join();
+
+        Assertions.assertThat(readOnly).isTrue();
+    }
+
+}
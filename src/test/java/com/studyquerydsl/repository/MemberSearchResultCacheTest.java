@@ -0,0 +1,53 @@
+package com.studyquerydsl.repository;
+
+import com.studyquerydsl.dto.MemberSearchCondition;
+import com.studyquerydsl.dto.MemberTeamDto;
+import com.studyquerydsl.entity.Member;
+import com.studyquerydsl.entity.event.EntityChangeType;
+import com.studyquerydsl.entity.event.MemberChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberSearchResultCacheTest {
+
+    private final MemberSearchResultCache cache =
+            new MemberSearchResultCache(new SimpleMeterRegistry(), true, 1_000, Duration.ofMinutes(1));
+
+    @Test
+    public void cacheByNormalizedConditionAndInvalidateMatchingEntries() {
+        AtomicInteger loads = new AtomicInteger();
+        List<MemberTeamDto> rows = List.of(new MemberTeamDto(1L, "member1", 10, 1L, "teamA"));
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsername("member1");
+        condition.setTeamName(""); // "" 와 null 은 같은 키
+        MemberSearchCondition same = new MemberSearchCondition();
+        same.setUsername("member1");
+
+        cache.search(condition, () -> {
+            loads.incrementAndGet();
+            return rows;
+        });
+        List<MemberTeamDto> cached = cache.search(same, () -> {
+            loads.incrementAndGet();
+            return rows;
+        });
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(cached).extracting("username").containsExactly("member1");
+
+        // 조건에 맞지 않고 결과에도 없던 회원의 변경은 영향 없음
+        cache.onMemberChanged(new MemberChangedEvent(new Member("member2", 20), EntityChangeType.PERSIST));
+        assertThat(cache.size()).isEqualTo(1);
+
+        // 같은 이름의 회원이 추가되면 결과가 바뀌므로 제거
+        cache.onMemberChanged(new MemberChangedEvent(new Member("member1", 30), EntityChangeType.PERSIST));
+        assertThat(cache.size()).isZero();
+    }
+
+}
@@ -0,0 +1,200 @@
+package com.studyquerydsl.repository;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.studyquerydsl.dto.TeamStatsDto;
+import com.studyquerydsl.entity.Member;
+import com.studyquerydsl.entity.Team;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static com.studyquerydsl.entity.QMember.member;
+import static com.studyquerydsl.entity.QTeam.team;
+
+// 스냅샷 테스트는 커밋된 데이터로 확인해야 하므로 트랜잭션 없이 실행하고, 시간은 TestClock 으로 직접 옮긴다.
+@SpringBootTest(properties = {
+        "member.team-stats.min-refresh-interval=5s",
+        "member.team-stats.max-staleness=5m"
+})
+@ActiveProfiles("test")
+class TeamStatsRepositoryTest {
+
+    @TestConfiguration
+    static class ClockConfig {
+
+        @Bean
+        TestClock testClock() {
+            return new TestClock();
+        }
+    }
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Autowired TeamStatsRepository teamStatsRepository;
+    @Autowired JPAQueryFactory queryFactory;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired TestClock clock;
+
+    private final List<Long> createdTeamIds = new ArrayList<>();
+
+    @AfterEach
+    public void cleanUp() {
+        if (createdTeamIds.isEmpty()) {
+            return;
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            queryFactory.delete(member).where(member.team.id.in(createdTeamIds)).execute();
+            queryFactory.delete(team).where(team.id.in(createdTeamIds)).execute();
+        });
+        createdTeamIds.clear();
+    }
+
+    @Test
+    @Transactional
+    public void stats() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+        em.flush();
+
+        // 쓰기 트랜잭션 안에서는 스냅샷 없이 바로 집계 (QuerydslBasicTest.aggregation / groupBy 와 같은 값)
+        TeamStatsRepository.TeamStatsSnapshot snapshot = teamStatsRepository.getStats();
+        TeamStatsDto statsA = statsOf(snapshot, teamA.getId());
+        TeamStatsDto statsB = statsOf(snapshot, teamB.getId());
+
+        Assertions.assertThat(statsA.getMemberCount()).isEqualTo(2);
+        Assertions.assertThat(statsA.getAgeSum()).isEqualTo(30);
+        Assertions.assertThat(statsA.getAgeAvg()).isEqualTo(15);
+        Assertions.assertThat(statsB.getAgeMax()).isEqualTo(40);
+        Assertions.assertThat(statsB.getAgeMin()).isEqualTo(30);
+    }
+
+    @Test
+    public void snapshotIsReusedMarkedDirtyAndRefreshed() {
+        List<Long> teamIds = commit(() -> {
+            Team snapshotTeam = new Team("snapshotTeam");
+            Team otherTeam = new Team("snapshotOther");
+            em.persist(snapshotTeam);
+            em.persist(otherTeam);
+            em.persist(new Member("snapshot1", 10, snapshotTeam));
+            em.persist(new Member("snapshot2", 20, snapshotTeam));
+            em.persist(new Member("snapshot3", 30, otherTeam));
+            return List.of(snapshotTeam.getId(), otherTeam.getId());
+        });
+        createdTeamIds.addAll(teamIds);
+        Long teamId = teamIds.get(0);
+        Long otherId = teamIds.get(1);
+        clock.advance(Duration.ofMinutes(10)); // 이전 테스트의 스냅샷은 max-staleness 가 지나서 전체 집계
+
+        TeamStatsRepository.TeamStatsSnapshot first = teamStatsRepository.getStats();
+        Assertions.assertThat(statsOf(first, teamId).getMemberCount()).isEqualTo(2);
+        Assertions.assertThat(first.changedSinceRefresh()).isFalse();
+
+        // 변경이 없으면 같은 스냅샷
+        TeamStatsRepository.TeamStatsSnapshot reused = teamStatsRepository.getStats();
+        Assertions.assertThat(reused.refreshedAt()).isEqualTo(first.refreshedAt());
+        Assertions.assertThat(reused.teams()).isSameAs(first.teams());
+
+        // 변경 후 min-refresh-interval 전에는 이전 값 + dirty 표시
+        commit(() -> {
+            em.persist(new Member("snapshot4", 40, em.find(Team.class, teamId)));
+            return null;
+        });
+        clock.advance(Duration.ofSeconds(4));
+        TeamStatsRepository.TeamStatsSnapshot dirty = teamStatsRepository.getStats();
+        Assertions.assertThat(dirty.refreshedAt()).isEqualTo(first.refreshedAt());
+        Assertions.assertThat(dirty.changedSinceRefresh()).isTrue();
+        Assertions.assertThat(statsOf(dirty, teamId).getMemberCount()).isEqualTo(2);
+
+        // min-refresh-interval 이 지나면 바뀐 팀만 다시 집계 (다른 팀은 이전 집계 그대로)
+        clock.advance(Duration.ofSeconds(1));
+        TeamStatsRepository.TeamStatsSnapshot refreshed = teamStatsRepository.getStats();
+        Assertions.assertThat(refreshed.refreshedAt()).isAfter(first.refreshedAt());
+        Assertions.assertThat(refreshed.changedSinceRefresh()).isFalse();
+        Assertions.assertThat(statsOf(refreshed, teamId).getMemberCount()).isEqualTo(3);
+        Assertions.assertThat(statsOf(refreshed, otherId)).isSameAs(statsOf(first, otherId));
+
+        // 팀을 옮기면 이전 팀과 새 팀이 모두 다시 집계된다.
+        commit(() -> {
+            queryFactory.selectFrom(member)
+                    .where(member.username.eq("snapshot1"))
+                    .fetchOne()
+                    .changeTeam(em.find(Team.class, otherId));
+            return null;
+        });
+        clock.advance(Duration.ofSeconds(5));
+        TeamStatsRepository.TeamStatsSnapshot moved = teamStatsRepository.getStats();
+        Assertions.assertThat(statsOf(moved, teamId).getMemberCount()).isEqualTo(2);
+        Assertions.assertThat(statsOf(moved, otherId).getMemberCount()).isEqualTo(2);
+        Assertions.assertThat(statsOf(moved, otherId).getAgeMin()).isEqualTo(10);
+
+        // 변경이 없어도 max-staleness 가 지나면 전체를 다시 집계
+        clock.advance(Duration.ofMinutes(5));
+        TeamStatsRepository.TeamStatsSnapshot stale = teamStatsRepository.getStats();
+        Assertions.assertThat(stale.refreshedAt()).isAfter(moved.refreshedAt());
+        Assertions.assertThat(stale.changedSinceRefresh()).isFalse();
+        Assertions.assertThat(statsOf(stale, otherId)).isNotSameAs(statsOf(moved, otherId));
+    }
+
+    private <T> T commit(Supplier<T> work) {
+        return new TransactionTemplate(transactionManager).execute(status -> work.get());
+    }
+
+    private static TeamStatsDto statsOf(TeamStatsRepository.TeamStatsSnapshot snapshot, Long teamId) {
+        return snapshot.teams().stream()
+                .filter(stats -> stats.getTeamId().equals(teamId))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    // 테스트에서 직접 옮기는 시계
+    static class TestClock extends Clock {
+
+        private volatile Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.studyquerydsl.repository.support;
+
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.studyquerydsl.entity.Member;
+import com.studyquerydsl.entity.Team;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static com.studyquerydsl.entity.QMember.member;
+import static com.studyquerydsl.entity.QTeam.team;
+
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+class FetchJoinPagingTest {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Autowired
+    EntityManagerFactory emf;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Test
+    public void pageTeamsWithMembers() {
+        for (int i = 0; i < 5; i++) {
+            Team paged = new Team("paging-" + i);
+            em.persist(paged);
+            em.persist(new Member("paging-member" + i + "a", 10, paged));
+            em.persist(new Member("paging-member" + i + "b", 20, paged));
+        }
+        em.flush();
+        em.clear();
+
+        List<Team> teams = FetchJoinPaging.fetch(em, teamsWithMembers().offset(1).limit(2), team.id);
+
+        // team 단위로 페이징되고, 각 팀의 members 는 fetch join 으로 모두 로딩
+        Assertions.assertThat(teams).extracting("name").containsExactly("paging-1", "paging-2");
+        for (Team found : teams) {
+            Assertions.assertThat(emf.getPersistenceUnitUtil().isLoaded(found, "members")).isTrue();
+            Assertions.assertThat(found.getMembers()).hasSize(2);
+        }
+
+        Page<Team> page = FetchJoinPaging.fetchPage(em, teamsWithMembers(), team.id, PageRequest.of(2, 2));
+        Assertions.assertThat(page.getContent()).extracting("name").containsExactly("paging-4");
+        Assertions.assertThat(page.getTotalElements()).isEqualTo(5);
+
+        Assertions.assertThatThrownBy(() -> FetchJoinPaging.fetch(em, teamsWithMembers().limit(2), team.id, FetchJoinPaging.Policy.FAIL))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private JPAQuery<Team> teamsWithMembers() {
+        return queryFactory
+                .selectFrom(team)
+                .leftJoin(team.members, member).fetchJoin()
+                .where(team.name.startsWith("paging-"))
+                .orderBy(team.name.asc());
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.studyquerydsl.service;
+
+import com.studyquerydsl.entity.Member;
+import com.studyquerydsl.entity.Team;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import static com.studyquerydsl.entity.QMember.member;
+
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+class MemberBulkOperationsTest {
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    MemberBulkOperations bulkOperations;
+
+    @Test
+    public void bulkUpdateInChunks() {
+        Team team = new Team("bulkTeam");
+        em.persist(team);
+        Member member1 = new Member("bulk1", 10, team);
+        Member member2 = new Member("bulk2", 40, team);
+        Member member3 = new Member("bulk3", 20, team);
+        Member member4 = new Member("bulk4", 50, team);
+        Member member5 = new Member("bulk5", 22, team);
+        em.persist(member1);
+        em.persist(member2);
+        em.persist(member3);
+        em.persist(member4);
+        em.persist(member5);
+        // flush / clear 를 직접 하지 않는다. (member1 ~ 5 는 아직 영속 상태)
+
+        MemberBulkOperations.BulkResult result = bulkOperations.update(
+                member.username.startsWith("bulk").and(member.age.lt(25)),
+                update -> update.set(member.username, "비회원"),
+                2);
+
+        // 대상 id(member1, 3, 5) 기준으로 2개씩 나눈다. (id 범위로 나누면 member2, 4 자리에 빈 자리가 생긴다)
+        Assertions.assertThat(result.getTotalRows()).isEqualTo(3);
+        Assertions.assertThat(result.chunks())
+                .extracting("fromId", "toId", "rows")
+                .containsExactly(
+                        Assertions.tuple(member1.getId(), member3.getId(), 2L),
+                        Assertions.tuple(member5.getId(), member5.getId(), 1L));
+
+        // 영속성 컨텍스트의 옛 엔티티는 제거되어 다시 조회하면 DB 값이 보인다.
+        Assertions.assertThat(em.contains(member1)).isFalse();
+        Assertions.assertThat(em.find(Member.class, member1.getId()).getUsername()).isEqualTo("비회원");
+        Assertions.assertThat(em.find(Member.class, member2.getId()).getUsername()).isEqualTo("bulk2");
+        Assertions.assertThat(em.find(Member.class, member5.getId()).getUsername()).isEqualTo("비회원");
+    }
+
+    @Test
+    public void bulkDelete() {
+        em.persist(new Member("bulkDelete1", 90));
+        em.persist(new Member("bulkDelete2", 91));
+
+        MemberBulkOperations.BulkResult result = bulkOperations.delete(member.username.startsWith("bulkDelete"));
+
+        Assertions.assertThat(result.getTotalRows()).isEqualTo(2);
+        Assertions.assertThat(result.chunks()).hasSize(1);
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.studyquerydsl.support;
+
+import com.studyquerydsl.config.QueryCounter;
+import org.assertj.core.api.Assertions;
+
+import java.util.function.Supplier;
+
+// 블록 안에서 실행된 SQL 수를 검증한다. (쓰기 지연 SQL 이 섞이지 않도록 호출 전에 em.flush() 를 먼저 한다.)
+//   List<Member> members = assertQueryCount(1, () -> memberRepository.findAll());
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    public static <T> T assertQueryCount(int expected, Supplier<T> block) {
+        QueryCounter.start();
+        T result;
+        QueryCounter.Context context;
+        try {
+            result = block.get();
+        } finally {
+            context = QueryCounter.stop();
+        }
+        Assertions.assertThat(context.getStatements())
+                .as("실행된 SQL 수 (개별 로딩: %s, 컬렉션 초기화: %s)", context.getEntityLoads(), context.getCollectionInits())
+                .isEqualTo(expected);
+        return result;
+    }
+
+    public static void assertQueryCount(int expected, Runnable block) {
+        assertQueryCount(expected, () -> {
+            block.run();
+            return null;
+        });
+    }
+
+}